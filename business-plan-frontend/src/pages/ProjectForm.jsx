@@ -1,5 +1,6 @@
 import React, { useState } from 'react';
 import BudgetTable from '../components/BudgetTable';
+import { waitForJob } from '../services/api';
 
 function ProjectForm({ onSuccess }) {
     const [step, setStep] = useState('input');
@@ -247,7 +248,7 @@ function ProjectForm({ onSuccess }) {
                 }
             });
 
-            const result = await response.json();
+            const result = await waitForJob(await response.json());
             console.log('=== 질문 생성 응답 ===');
             console.log(result);
 
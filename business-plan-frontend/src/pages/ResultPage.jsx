@@ -1,5 +1,5 @@
 import React, { useEffect, useState } from 'react';
-import { getProject } from '../services/api';
+import { getProject, waitForJob } from '../services/api';
 
 function ResultPage({ projectData }) {
     const [project, setProject] = useState(null);
@@ -30,7 +30,7 @@ function ResultPage({ projectData }) {
                 { method: 'POST' }
             );
 
-            const result = await response.json();
+            const result = await waitForJob(await response.json());
 
             if (result.success) {
                 setProject(result.project);
@@ -188,6 +188,15 @@ function ResultPage({ projectData }) {
                                     📄 DOCX 다운로드
                                 </a>
 
+                                <a
+                                    href={`http://localhost:8080/api/projects/${project.id}/download.pdf`}
+                                    download
+                                    className="btn btn-primary"
+                                    style={{ textDecoration: 'none', display: 'inline-block' }}
+                                >
+                                    📑 PDF 다운로드
+                                </a>
+
 
                                 {project.budgetDetails && (
                                     <a
@@ -2,9 +2,30 @@ import axios from 'axios';
 
 const API_BASE_URL = 'http://localhost:8080/api';
 
+// 202로 접수된 작업이 끝날 때까지 폴링하고, 끝나면 작업 결과(기존 동기 응답과 같은 형태)를 반환
+export const waitForJob = async (accepted, intervalMs = 1000) => {
+    if (!accepted.jobId) {
+        return accepted;
+    }
+
+    while (true) {
+        const response = await axios.get(`${API_BASE_URL}/jobs/${accepted.jobId}`);
+        const job = response.data.job;
+
+        if (job.state === 'SUCCEEDED') {
+            return job.result;
+        }
+        if (job.state === 'FAILED') {
+            return { success: false, message: job.error };
+        }
+
+        await new Promise(resolve => setTimeout(resolve, intervalMs));
+    }
+};
+
 export const createProject = async (projectData) => {
     const response = await axios.post(`${API_BASE_URL}/projects/create`, projectData);
-    return response.data;
+    return waitForJob(response.data);
 };
 
 export const saveAnswer = async (questionId, userAnswer) => {
@@ -17,12 +38,12 @@ export const saveAnswer = async (questionId, userAnswer) => {
 
 export const expandAnswers = async (projectId) => {
     const response = await axios.post(`${API_BASE_URL}/projects/${projectId}/expand`);
-    return response.data;
+    return waitForJob(response.data);
 };
 
 export const generateFinalPlan = async (projectId) => {
     const response = await axios.post(`${API_BASE_URL}/projects/${projectId}/generate`);
-    return response.data;
+    return waitForJob(response.data);
 };
 
 export const getProject = async (projectId) => {
@@ -0,0 +1,32 @@
+package com.example.businessplan.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class ExportExecutorConfig {
+
+    // 일괄 내보내기 렌더링 풀 (CPU 작업이라 기본 크기는 코어 수)
+    // 대기열이 가득 차면 내보내기를 요청한 스레드가 직접 렌더링한다 (자연스러운 배압)
+    @Bean(name = "exportExecutor", destroyMethod = "shutdownNow")
+    public ExecutorService exportExecutor(@Value("${export.executor.pool-size:0}") int poolSize,
+                                          @Value("${export.executor.queue-capacity:64}") int queueCapacity,
+                                          MeterRegistry meterRegistry) {
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                threads, threads,
+                60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                LlmExecutorConfig.namedThreadFactory("export-"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return LlmExecutorConfig.instrument(executor, "export", meterRegistry);
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.businessplan.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+// 끝난 작업 정리(JobService.purgeFinishedJobs)를 주기적으로 돌린다
+@Configuration
+@EnableScheduling
+public class JobExecutorConfig {
+
+    // 비동기 작업(질문 생성/답변 확장/계획서 생성) 전용 워커 풀
+    // 대기열이 가득 차면 RejectedExecutionException → 503 응답
+    @Bean(name = "jobExecutor", destroyMethod = "shutdownNow")
+    public ExecutorService jobExecutor(@Value("${job.executor.pool-size:4}") int poolSize,
+                                       @Value("${job.executor.queue-capacity:50}") int queueCapacity,
+                                       MeterRegistry meterRegistry) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                poolSize, poolSize,
+                60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                LlmExecutorConfig.namedThreadFactory("job-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return LlmExecutorConfig.instrument(executor, "job", meterRegistry);
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.businessplan.config;
+
+import io.micrometer.context.ContextExecutorService;
+import io.micrometer.context.ContextSnapshotFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Configuration
+public class LlmExecutorConfig {
+
+    // 등록된 ThreadLocalAccessor(관측/trace) 전체를 캡처한다
+    private static final ContextSnapshotFactory SNAPSHOTS = ContextSnapshotFactory.builder().build();
+
+    // LLM 호출 전용 풀 (요청 스레드와 분리, 크기/대기열 모두 제한)
+    @Bean(name = "llmExecutor", destroyMethod = "shutdownNow")
+    public ExecutorService llmExecutor(@Value("${llm.executor.pool-size:8}") int poolSize,
+                                       @Value("${llm.executor.queue-capacity:100}") int queueCapacity,
+                                       MeterRegistry meterRegistry) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                poolSize, poolSize,
+                60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                namedThreadFactory("llm-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return instrument(executor, "llm", meterRegistry);
+    }
+
+    // 풀 크기/대기열/작업 시간 지표를 남기고, 호출한 쪽의 trace 컨텍스트를 워커 스레드로 넘긴다
+    static ExecutorService instrument(ExecutorService executor, String name, MeterRegistry meterRegistry) {
+        ExecutorService monitored = ExecutorServiceMetrics.monitor(meterRegistry, executor, name);
+        return ContextExecutorService.wrap(monitored, () -> SNAPSHOTS.captureAll());
+    }
+
+    static ThreadFactory namedThreadFactory(String prefix) {
+        AtomicInteger counter = new AtomicInteger(1);
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.businessplan.config;
+
+import com.example.businessplan.job.JobService;
+import com.example.businessplan.llm.LlmResilience;
+import com.example.businessplan.llm.LlmResponseCache;
+import com.example.businessplan.service.RenderCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Map;
+
+@Configuration
+public class MetricsConfig {
+
+    // 이미 /api/llm, /api/jobs/stats 로 보던 내부 통계를 Prometheus에서도 볼 수 있게 등록
+    // (FunctionCounter/Gauge는 대상을 약한 참조로 들고 있으므로 스프링 빈 자체를 넘긴다)
+    @Bean
+    public MeterBinder businessPlanMeters(LlmResponseCache responseCache,
+                                          LlmResilience resilience,
+                                          JobService jobService,
+                                          RenderCache renderCache) {
+        return registry -> {
+            FunctionCounter.builder("llm.cache.hits", responseCache, LlmResponseCache::hitCount)
+                    .description("LLM 응답 캐시 적중 (메모리 + 디스크)")
+                    .register(registry);
+            FunctionCounter.builder("llm.cache.misses", responseCache, LlmResponseCache::missCount)
+                    .register(registry);
+            Gauge.builder("llm.cache.size", responseCache, LlmResponseCache::byteCount)
+                    .baseUnit("bytes")
+                    .register(registry);
+
+            FunctionCounter.builder("llm.resilience.retries", resilience, r -> stat(r.getStats(), "retries"))
+                    .register(registry);
+            FunctionCounter.builder("llm.resilience.timeouts", resilience, r -> stat(r.getStats(), "timeouts"))
+                    .register(registry);
+            FunctionCounter.builder("llm.resilience.hedges", resilience, r -> stat(r.getStats(), "hedges"))
+                    .register(registry);
+            FunctionCounter.builder("llm.resilience.hedges.rejected", resilience, r -> stat(r.getStats(), "hedgesRejected"))
+                    .description("호출 풀이 가득 차서 보내지 못한 hedge")
+                    .register(registry);
+            FunctionCounter.builder("llm.resilience.short.circuited", resilience, r -> stat(r.getStats(), "shortCircuited"))
+                    .register(registry);
+            // 0 = CLOSED, 1 = HALF_OPEN, 2 = OPEN
+            Gauge.builder("llm.resilience.breaker.state", resilience, r -> switch (r.breakerState()) {
+                        case "OPEN" -> 2;
+                        case "HALF_OPEN" -> 1;
+                        default -> 0;
+                    })
+                    .register(registry);
+
+            FunctionCounter.builder("jobs.joined", jobService, JobService::getJoinedCount)
+                    .register(registry);
+
+            FunctionCounter.builder("render.cache.hits", renderCache, RenderCache::hitCount)
+                    .description("다운로드 파일 렌더링 캐시 적중")
+                    .register(registry);
+            FunctionCounter.builder("render.cache.misses", renderCache, RenderCache::missCount)
+                    .register(registry);
+            Gauge.builder("render.cache.size", renderCache, RenderCache::byteCount)
+                    .baseUnit("bytes")
+                    .register(registry);
+        };
+    }
+
+    private static double stat(Map<String, Object> stats, String key) {
+        Object value = stats.get(key);
+        return value instanceof Number number ? number.doubleValue() : 0;
+    }
+}
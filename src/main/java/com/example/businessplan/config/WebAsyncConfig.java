@@ -0,0 +1,41 @@
+package com.example.businessplan.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebAsyncConfig implements WebMvcConfigurer {
+
+    @Value("${web.async.pool-size:8}")
+    private int poolSize;
+
+    @Value("${web.async.queue-capacity:100}")
+    private int queueCapacity;
+
+    // 일괄 내보내기(ZIP)는 수백 건이면 몇 분 걸릴 수 있다 (SSE는 각자 타임아웃을 지정함)
+    @Value("${web.async.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    // StreamingResponseBody(파일 다운로드)를 쓰는 스레드 풀
+    // (jobExecutor/llmExecutor 빈이 있어서 스프링 기본 applicationTaskExecutor가 만들어지지 않으므로 직접 지정)
+    @Bean(name = "downloadExecutor")
+    public ThreadPoolTaskExecutor downloadExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("download-");
+        executor.setDaemon(true);
+        return executor;
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(downloadExecutor());
+        configurer.setDefaultTimeout(timeoutMs);
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.businessplan.controller;
+
+import com.example.businessplan.llm.LlmResilience;
+import com.example.businessplan.llm.LlmResponseCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/llm")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class LlmController {
+
+    private final LlmResponseCache responseCache;
+    private final LlmResilience resilience;
+
+    @GetMapping("/resilience")
+    public ResponseEntity<Map<String, Object>> getResilienceStats() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("stats", resilience.getStats());
+
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/cache")
+    public ResponseEntity<Map<String, Object>> getCacheStats() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("stats", responseCache.getStats());
+
+        return ResponseEntity.ok(response);
+    }
+
+    @DeleteMapping("/cache")
+    public ResponseEntity<Map<String, Object>> clearCache() {
+        responseCache.clear();
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("message", "LLM 응답 캐시를 비웠습니다");
+
+        return ResponseEntity.ok(response);
+    }
+}
@@ -3,20 +3,39 @@ package com.example.businessplan.controller;
 import com.example.businessplan.entity.Project;
 import com.example.businessplan.entity.Question;
 import com.example.businessplan.entity.Answer;
+import com.example.businessplan.entity.ProjectStatus;
+import com.example.businessplan.job.Job;
+import com.example.businessplan.job.JobService;
+import com.example.businessplan.job.JobType;
+import com.example.businessplan.job.JobWork;
 import com.example.businessplan.repository.ProjectRepository;
 import com.example.businessplan.repository.QuestionRepository;
 import com.example.businessplan.service.*;
-import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.util.UriUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.ArrayList;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/api/projects")
@@ -30,7 +49,14 @@ public class ProjectController {
     private final BudgetValidationService budgetValidationService;
     private final ExcelParsingService excelParsingService;
     private final DocumentGenerationService documentGenerationService;
+    private final PdfGenerationService pdfGenerationService;
+    private final ProjectExportService projectExportService;
+    private final ProjectListingService projectListingService;
     private final ExcelGenerationService excelGenerationService;
+    private final ProjectStatusService projectStatusService;
+    private final JobService jobService;
+    private final PlanStreamingService planStreamingService;
+    private final RenderCache renderCache;
 
     @PostMapping("/create")
     public ResponseEntity<Map<String, Object>> createProject(@RequestBody Map<String, Object> requestData) {
@@ -60,23 +86,17 @@ public class ProjectController {
                 }
             }
 
-            System.out.println("프로젝트 생성 시작...");
+            System.out.println("프로젝트 생성 작업 등록...");
 
-            Project savedProject = projectService.createProjectWithQuestions(project);
+            return submitJob(JobType.CREATE_PROJECT, null, null, "프로젝트 생성", progress -> {
+                Project savedProject = projectService.createProjectWithQuestions(project);
+                System.out.println("프로젝트 생성 완료: " + savedProject.getId());
 
-            System.out.println("프로젝트 생성 완료: " + savedProject.getId());
-
-            List<Question> questions = questionRepository.findByProjectIdOrderByOrderNum(savedProject.getId());
-
-            System.out.println("질문 조회 완료: " + questions.size() + "개");
-
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("message", "사업개요 저장 및 질문 생성 완료!");
-            response.put("project", savedProject);
-            response.put("questions", questions);
-
-            return ResponseEntity.ok(response);
+                Map<String, Object> result = projectService.getProjectWithQuestions(savedProject.getId());
+                result.put("success", true);
+                result.put("message", "사업개요 저장 및 질문 생성 완료!");
+                return result;
+            });
 
         } catch (Exception e) {
             System.err.println("=== 에러 발생! ===");
@@ -126,51 +146,132 @@ public class ProjectController {
         }
     }
 
-    @PostMapping("/{projectId}/expand")
-    public ResponseEntity<Map<String, Object>> expandAnswers(@PathVariable Long projectId) {
+    // 여러 답변 일괄 저장: {"answers":[{"questionId":1,"userAnswer":"..."}, ...]}
+    @PostMapping("/{projectId}/answers")
+    public ResponseEntity<Map<String, Object>> saveAnswers(@PathVariable Long projectId,
+                                                           @RequestBody Map<String, List<Map<String, Object>>> request) {
         try {
-            projectService.expandAllAnswers(projectId);
+            List<Map<String, Object>> items = request.get("answers");
+            if (items == null || items.isEmpty()) {
+                throw new RuntimeException("저장할 답변이 없습니다");
+            }
+
+            Map<Long, String> userAnswers = new LinkedHashMap<>();
+            for (Map<String, Object> item : items) {
+                userAnswers.put(Long.parseLong(item.get("questionId").toString()), (String) item.get("userAnswer"));
+            }
+
+            List<Answer> savedAnswers = projectService.saveAnswers(projectId, userAnswers);
 
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
-            response.put("message", "답변 확장 완료!");
+            response.put("message", "답변 " + savedAnswers.size() + "개 저장 완료!");
+            response.put("answers", savedAnswers);
 
             return ResponseEntity.ok(response);
 
         } catch (Exception e) {
-            Map<String, Object> errorResponse = new HashMap<>();
-            errorResponse.put("success", false);
-            errorResponse.put("message", "답변 확장 실패: " + e.getMessage());
+            return errorResponse(HttpStatus.BAD_REQUEST, "답변 저장 실패: " + e.getMessage());
+        }
+    }
 
-            return ResponseEntity.badRequest().body(errorResponse);
+    @PostMapping("/{projectId}/expand")
+    public ResponseEntity<Map<String, Object>> expandAnswers(@PathVariable Long projectId) {
+        try {
+            return submitJob(JobType.EXPAND_ANSWERS, projectId, ProjectStatus.EXPANDING, "답변 확장", progress -> {
+                projectService.expandAllAnswers(projectId, progress);
+
+                Map<String, Object> result = new HashMap<>();
+                result.put("success", true);
+                result.put("message", "답변 확장 완료!");
+                return result;
+            });
+
+        } catch (IllegalStateException e) {
+            return errorResponse(HttpStatus.CONFLICT, "답변 확장 실패: " + e.getMessage());
+
+        } catch (Exception e) {
+            return errorResponse(HttpStatus.BAD_REQUEST, "답변 확장 실패: " + e.getMessage());
         }
     }
 
     @PostMapping("/{projectId}/generate")
     public ResponseEntity<Map<String, Object>> generateFinalPlan(@PathVariable Long projectId) {
         try {
-            Project project = projectService.generateFinalPlan(projectId);
+            return submitJob(JobType.GENERATE_PLAN, projectId, ProjectStatus.PLAN_GENERATING, "사업계획서 생성", progress -> {
+                progress.onProgress(10, "사업계획서 작성중");
+                Project project = projectService.generateFinalPlan(projectId);
 
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("message", "사업계획서 생성 완료!");
-            response.put("project", project);
+                Map<String, Object> result = new HashMap<>();
+                result.put("success", true);
+                result.put("message", "사업계획서 생성 완료!");
+                result.put("project", project);
+                return result;
+            });
 
-            return ResponseEntity.ok(response);
+        } catch (IllegalStateException e) {
+            return errorResponse(HttpStatus.CONFLICT, "사업계획서 생성 실패: " + e.getMessage());
 
         } catch (Exception e) {
-            Map<String, Object> errorResponse = new HashMap<>();
-            errorResponse.put("success", false);
-            errorResponse.put("message", "사업계획서 생성 실패: " + e.getMessage());
+            return errorResponse(HttpStatus.BAD_REQUEST, "사업계획서 생성 실패: " + e.getMessage());
+        }
+    }
 
-            return ResponseEntity.badRequest().body(errorResponse);
+    @GetMapping(value = "/{projectId}/generate/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamFinalPlan(@PathVariable Long projectId) {
+        try {
+            return ResponseEntity.ok(planStreamingService.streamFinalPlan(projectId));
+
+        } catch (IllegalStateException e) {
+            System.err.println("계획서 스트리밍 거부: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+
+        } catch (Exception e) {
+            System.err.println("계획서 스트리밍 실패: " + e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // 작업을 워커 풀에 넘기고 202 + 작업 ID를 바로 반환 (요청 스레드는 LLM 호출을 기다리지 않음)
+    // 같은 프로젝트의 같은 작업이 이미 진행 중이면 그 작업 ID를 돌려준다 (중복 클릭/재시도)
+    private ResponseEntity<Map<String, Object>> submitJob(JobType type, Long projectId, ProjectStatus nextStatus,
+                                                          String label, JobWork work) {
+        try {
+            Job job = projectId == null
+                    ? jobService.submit(type, null, work)
+                    : jobService.submitOrJoin(type, projectId,
+                            () -> projectStatusService.assertCanMoveTo(projectId, nextStatus), work);
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("message", label + " 요청이 접수되었습니다");
+            response.put("jobId", job.getId());
+            response.put("projectId", projectId);
+            response.put("statusUrl", "/api/jobs/" + job.getId());
+            response.put("eventsUrl", "/api/jobs/" + job.getId() + "/events");
+
+            return ResponseEntity.accepted()
+                    .header("Location", "/api/jobs/" + job.getId())
+                    .body(response);
+
+        } catch (RejectedExecutionException e) {
+            return errorResponse(HttpStatus.SERVICE_UNAVAILABLE,
+                    label + " 요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해주세요.");
         }
     }
 
+    private ResponseEntity<Map<String, Object>> errorResponse(HttpStatus status, String message) {
+        Map<String, Object> errorResponse = new HashMap<>();
+        errorResponse.put("success", false);
+        errorResponse.put("message", message);
+
+        return ResponseEntity.status(status).body(errorResponse);
+    }
+
     @GetMapping("/{projectId}")
     public ResponseEntity<Map<String, Object>> getProject(@PathVariable Long projectId) {
         try {
-            Project project = projectRepository.findById(projectId)
+            Project project = projectRepository.findWithContentById(projectId)
                     .orElseThrow(() -> new RuntimeException("프로젝트를 찾을 수 없습니다"));
 
             List<Question> questions = questionRepository.findByProjectIdOrderByOrderNum(projectId);
@@ -191,9 +292,48 @@ public class ProjectController {
         }
     }
 
+    // 목록 (요약만, 본문 제외). 한 번에 size개(기본 20, 최대 100)씩: ?page=0&size=20&sort=id,asc
+    // 필터/커서 방식은 /summaries
     @GetMapping
-    public ResponseEntity<List<Project>> getAllProjects() {
-        return ResponseEntity.ok(projectRepository.findAll());
+    public ResponseEntity<Map<String, Object>> getAllProjects(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "id,asc") String sort) {
+        try {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.putAll(projectListingService.findPage(null, null, page, size, sort));
+
+            return ResponseEntity.ok(response);
+
+        } catch (Exception e) {
+            return errorResponse(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    // 요약 목록: ?page=0&size=20&sort=createdAt,desc 또는 ?cursor=(빈 값이면 첫 페이지)&size=20
+    @GetMapping("/summaries")
+    public ResponseEntity<Map<String, Object>> getProjectSummaries(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String community,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String cursor) {
+        try {
+            String statusLabel = status == null ? null : statusLabel(status);
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.putAll(cursor != null
+                    ? projectListingService.findAfterCursor(statusLabel, community, cursor, size)
+                    : projectListingService.findPage(statusLabel, community, page, size, sort));
+
+            return ResponseEntity.ok(response);
+
+        } catch (Exception e) {
+            return errorResponse(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
     }
 
     @PostMapping("/validate-budget")
@@ -237,7 +377,7 @@ public class ProjectController {
                 throw new RuntimeException("엑셀 파일(.xlsx, .xls)만 업로드 가능합니다");
             }
 
-            Map<String, Object> parseResult = excelParsingService.parseExcel(file);
+            BudgetTable parseResult = excelParsingService.parseExcel(file);
 
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
@@ -259,20 +399,16 @@ public class ProjectController {
     }
 
     @GetMapping("/{projectId}/download")
-    public ResponseEntity<byte[]> downloadDocx(@PathVariable Long projectId) {
+    public ResponseEntity<StreamingResponseBody> downloadDocx(@PathVariable Long projectId, WebRequest webRequest) {
         try {
-            Project project = projectRepository.findById(projectId)
+            Project project = projectRepository.findWithContentById(projectId)
                     .orElseThrow(() -> new RuntimeException("프로젝트를 찾을 수 없습니다"));
 
-            byte[] docxBytes = documentGenerationService.generateDocx(project);
-
             String filename = project.getProjectName() + "_사업계획서.docx";
 
-            return ResponseEntity.ok()
-                    .header("Content-Disposition", "attachment; filename=\"" +
-                            new String(filename.getBytes("UTF-8"), "ISO-8859-1") + "\"")
-                    .header("Content-Type", "application/vnd.openxmlformats-officedocument.wordprocessingml.document")
-                    .body(docxBytes);
+            return cachedDownload(webRequest, project, "docx", filename,
+                    "application/vnd.openxmlformats-officedocument.wordprocessingml.document",
+                    out -> documentGenerationService.writeDocx(project, out));
 
         } catch (Exception e) {
             System.err.println("파일 생성 실패: " + e.getMessage());
@@ -281,31 +417,76 @@ public class ProjectController {
         }
     }
 
+    @GetMapping("/{projectId}/download.pdf")
+    public ResponseEntity<StreamingResponseBody> downloadPdf(@PathVariable Long projectId, WebRequest webRequest) {
+        try {
+            Project project = projectRepository.findWithContentById(projectId)
+                    .orElseThrow(() -> new RuntimeException("프로젝트를 찾을 수 없습니다"));
+
+            String filename = project.getProjectName() + "_사업계획서.pdf";
+
+            return cachedDownload(webRequest, project, "pdf", filename, MediaType.APPLICATION_PDF_VALUE,
+                    out -> pdfGenerationService.writePdf(project, out));
+
+        } catch (Exception e) {
+            System.err.println("PDF 생성 실패: " + e.getMessage());
+            e.printStackTrace();
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // 일괄 내보내기: ?ids=1,2&status=완료&from=2025-01-01&to=2025-12-31&formats=docx,xlsx
+    @GetMapping("/export.zip")
+    public ResponseEntity<StreamingResponseBody> exportZip(
+            @RequestParam(required = false) List<Long> ids,
+            @RequestParam(required = false) List<String> status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "docx,xlsx") List<String> formats) {
+        try {
+            Set<String> selectedFormats = new HashSet<>(formats);
+            if (selectedFormats.isEmpty() || !ProjectExportService.FORMATS.containsAll(selectedFormats)) {
+                throw new RuntimeException("지원하지 않는 형식입니다: " + formats);
+            }
+
+            List<String> statuses = status == null ? null : status.stream()
+                    .map(ProjectController::statusLabel)
+                    .toList();
+
+            List<Long> projectIds = projectExportService.findProjectIds(ids, statuses, from, to);
+            System.out.println("일괄 내보내기 요청: " + projectIds.size() + "개 프로젝트, 형식 " + selectedFormats);
+
+            String filename = "사업계획서_" + LocalDate.now() + ".zip";
+            StreamingResponseBody body = out -> projectExportService.writeZip(projectIds, selectedFormats, out);
+
+            return ResponseEntity.ok()
+                    .header(HttpHeaders.CONTENT_DISPOSITION, attachment(filename))
+                    .header("Content-Type", "application/zip")
+                    .body(body);
+
+        } catch (Exception e) {
+            System.err.println("일괄 내보내기 실패: " + e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @GetMapping("/{projectId}/download-budget")
-    public ResponseEntity<byte[]> downloadBudgetExcel(@PathVariable Long projectId) {
+    public ResponseEntity<StreamingResponseBody> downloadBudgetExcel(@PathVariable Long projectId, WebRequest webRequest) {
         try {
-            Project project = projectRepository.findById(projectId)
+            Project project = projectRepository.findWithContentById(projectId)
                     .orElseThrow(() -> new RuntimeException("프로젝트를 찾을 수 없습니다"));
 
             if (project.getBudgetDetails() == null || project.getBudgetDetails().isEmpty()) {
                 return ResponseEntity.badRequest().build();
             }
 
-            ObjectMapper mapper = new ObjectMapper();
-            Map<String, Object> budgetData = mapper.readValue(
-                    project.getBudgetDetails(),
-                    new TypeReference<Map<String, Object>>() {}
-            );
-
-            byte[] excelBytes = excelGenerationService.generateBudgetExcel(budgetData);
-
+            String budgetDetails = project.getBudgetDetails();
             String filename = project.getProjectName() + "_사업비산출내역.xlsx";
 
-            return ResponseEntity.ok()
-                    .header("Content-Disposition", "attachment; filename=\"" +
-                            new String(filename.getBytes("UTF-8"), "ISO-8859-1") + "\"")
-                    .header("Content-Type", "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet")
-                    .body(excelBytes);
+            // 캐시에 없을 때만 JSON을 읽고 워크북을 만든다
+            return cachedDownload(webRequest, project, "xlsx", filename,
+                    "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet",
+                    out -> excelGenerationService.writeBudgetExcel(BudgetTable.fromJson(budgetDetails), out));
 
         } catch (Exception e) {
             System.err.println("엑셀 생성 실패: " + e.getMessage());
@@ -314,6 +495,30 @@ public class ProjectController {
         }
     }
 
+    // 같은 버전을 이미 받은 클라이언트(If-None-Match)는 304, 캐시에 있으면 그대로,
+    // 없으면 응답 스트림에 바로 렌더링하면서 캐시에 채운다
+    private ResponseEntity<StreamingResponseBody> cachedDownload(WebRequest webRequest, Project project, String format,
+                                                                 String filename, String contentType,
+                                                                 RenderCache.Renderer renderer) {
+        // checkNotModified가 ETag 헤더도 함께 설정한다
+        if (webRequest.checkNotModified(renderCache.etag(project, format))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .header(HttpHeaders.CONTENT_DISPOSITION, attachment(filename))
+                .header("Content-Type", contentType);
+
+        byte[] cached = renderCache.get(project, format);
+        if (cached != null) {
+            return response.contentLength(cached.length).body(out -> out.write(cached));
+        }
+
+        // 길이를 미리 알 수 없으므로 chunked 전송
+        return response.body(out -> renderCache.render(project, format, out, renderer));
+    }
+
     @PostMapping("/save-draft")
     public ResponseEntity<Map<String, Object>> saveDraft(@RequestBody Map<String, Object> requestData) {
         try {
@@ -340,7 +545,7 @@ public class ProjectController {
                 }
             }
 
-            project.setStatus("임시저장");
+            project.setStatus(ProjectStatus.DRAFT.getLabel());
 
             Project savedProject = projectRepository.save(project);
 
@@ -372,7 +577,7 @@ public class ProjectController {
             System.out.println("=== /generate-questions 요청 받음 ===");
             System.out.println("프로젝트 ID: " + projectId);
 
-            Project project = projectRepository.findById(projectId)
+            Project project = projectRepository.findWithContentById(projectId)
                     .orElseThrow(() -> new RuntimeException("프로젝트를 찾을 수 없습니다"));
 
             List<Question> existingQuestions = questionRepository.findByProjectIdOrderByOrderNum(projectId);
@@ -389,20 +594,20 @@ public class ProjectController {
                 return ResponseEntity.ok(response);
             }
 
-            System.out.println("질문 생성 시작...");
-            projectService.generateQuestionsForProject(project);
+            System.out.println("질문 생성 작업 등록...");
+            return submitJob(JobType.GENERATE_QUESTIONS, projectId, ProjectStatus.QUESTIONS_GENERATING, "질문 생성", progress -> {
+                projectService.generateQuestionsForProject(projectId);
 
-            List<Question> questions = questionRepository.findByProjectIdOrderByOrderNum(projectId);
-            System.out.println("질문 생성 완료: " + questions.size() + "개");
+                Map<String, Object> result = projectService.getProjectWithQuestions(projectId);
+                System.out.println("질문 생성 완료: " + ((List<?>) result.get("questions")).size() + "개");
 
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("message", "질문 생성 완료!");
-            response.put("projectId", project.getId());
-            response.put("project", project);
-            response.put("questions", questions);
+                result.put("success", true);
+                result.put("message", "질문 생성 완료!");
+                return result;
+            });
 
-            return ResponseEntity.ok(response);
+        } catch (IllegalStateException e) {
+            return errorResponse(HttpStatus.CONFLICT, "질문 생성 실패: " + e.getMessage());
 
         } catch (Exception e) {
             System.err.println("질문 생성 실패: " + e.getMessage());
@@ -420,44 +625,30 @@ public class ProjectController {
     public ResponseEntity<Map<String, Object>> autoAdjustBudget(@RequestBody Map<String, Object> request) {
         try {
             Long targetTotal = Long.parseLong(request.get("targetTotal").toString());
-            List<Map<String, Object>> itemsRaw = (List<Map<String, Object>>) request.get("items");
+            BudgetTable items = new ObjectMapper().convertValue(request.get("items"), BudgetTable.class);
 
-            // items 복사
-            List<Map<String, Object>> items = new ArrayList<>();
-            for (Map<String, Object> item : itemsRaw) {
-                items.add(new HashMap<>(item));
-            }
-
-            // 현재 합계 계산
-            Long currentTotal = items.stream()
-                    .mapToLong(item -> ((Number) item.get("amount")).longValue())
-                    .sum();
+            // 현재 합계 (항목을 읽으면서 계산됨)
+            long currentTotal = items.totalAmount();
 
-            if (!currentTotal.equals(targetTotal)) {
-                Long difference = currentTotal - targetTotal;
+            if (currentTotal != targetTotal) {
+                long difference = currentTotal - targetTotal;
 
                 // 마지막 항목 조정
-                Map<String, Object> lastItem = items.get(items.size() - 1);
-                Long oldAmount = ((Number) lastItem.get("amount")).longValue();
-                Long newAmount = oldAmount - difference;
+                int last = items.size() - 1;
+                long newAmount = items.amount(last) - difference;
 
                 // ✨ 산출근거 재계산
-                String oldCalculation = (String) lastItem.get("calculation");
-                String newCalculation = recalculateCalculation(oldCalculation, newAmount);
-
-                lastItem.put("amount", newAmount);
-                lastItem.put("calculation", newCalculation);
+                String newCalculation = recalculateCalculation(items.calculation(last), newAmount);
 
                 // 도비/시군비도 재계산
-                Long newProvincial = Math.round(newAmount * 0.3);
-                Long newCity = Math.round(newAmount * 0.7);
-                lastItem.put("provincialFund", newProvincial);
-                lastItem.put("cityFund", newCity);
+                long newProvincial = Math.round(newAmount * 0.3);
+                long newCity = Math.round(newAmount * 0.7);
+                items.update(last, newCalculation, newAmount, newProvincial, newCity);
             }
 
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
-            response.put("items", items);
+            response.put("items", items.items());
             response.put("message", "자동 조정 완료");
 
             return ResponseEntity.ok(response);
@@ -470,6 +661,22 @@ public class ProjectController {
         }
     }
 
+    // RFC 6266/5987: 한글 파일명은 filename*에 UTF-8로, filename에는 ASCII 대체 이름
+    static String attachment(String filename) {
+        String fallback = filename.replaceAll("[^\\x20-\\x7E]", "_").replace("\"", "_").replace("\\", "_");
+        return "attachment; filename=\"" + fallback + "\"; filename*=UTF-8''"
+                + UriUtils.encode(filename, StandardCharsets.UTF_8);
+    }
+
+    // 상태는 한글 라벨(완료) 또는 이름(COMPLETED) 모두 받는다
+    private static String statusLabel(String value) {
+        return Arrays.stream(ProjectStatus.values())
+                .filter(s -> s.name().equalsIgnoreCase(value))
+                .map(ProjectStatus::getLabel)
+                .findFirst()
+                .orElse(value);
+    }
+
     private String recalculateCalculation(String originalCalculation, Long newAmount) {
         java.util.regex.Pattern pattern = java.util.regex.Pattern.compile("(\\d+)원?\\s*[×xX*]\\s*(\\d+)([^\\d]*)");
         java.util.regex.Matcher matcher = pattern.matcher(originalCalculation);
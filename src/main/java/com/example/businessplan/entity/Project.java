@@ -1,13 +1,32 @@
 package com.example.businessplan.entity;
 
+import com.example.businessplan.service.RenderCacheInvalidator;
+import com.fasterxml.jackson.annotation.JsonAnyGetter;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import org.hibernate.Hibernate;
+import org.hibernate.annotations.ColumnDefault;
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
 
 @Entity
 @Data
-@Table(name = "projects")
+// 목록 조회(최신순 커서, 상태/공동체 필터)용 인덱스
+@Table(name = "projects", indexes = {
+        @Index(name = "idx_projects_created_id", columnList = "createdAt, id"),
+        @Index(name = "idx_projects_status_created_id", columnList = "status, createdAt, id"),
+        @Index(name = "idx_projects_community", columnList = "communityName")
+})
+@EntityListeners(RenderCacheInvalidator.class)
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class Project {
 
@@ -25,24 +44,118 @@ public class Project {
     private Long cityFund;
     private Long selfFund;
 
-    @Column(columnDefinition = "TEXT")
-    private String budgetDetails;
+    // 본문(TEXT 컬럼들)은 별도 테이블. 상태 확인/목록처럼 본문이 필요 없는 조회에서는 읽지 않는다
+    // 분리 이전에 만들어진 행은 ProjectContentBackfill이 옮기기 전까지 비어 있을 수 있다 (null이면 본문 없음)
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @OneToOne(fetch = FetchType.LAZY, cascade = CascadeType.ALL, orphanRemoval = true)
+    @JoinColumn(name = "content_id", unique = true)
+    private ProjectContent content;
 
-    @Column(columnDefinition = "TEXT")
-    private String detailedPlan;
-
-    @Column(columnDefinition = "TEXT")
-    private String monthlyPlan;
+    private String status;
 
-    @Column(columnDefinition = "TEXT")
-    private String expectedEffect;
+    // LLM 호출 전후로 프로젝트가 바뀌지 않았는지 확인하는 낙관적 잠금 버전
+    @Version
+    @ColumnDefault("0")
+    private Long version;
 
-    private String status;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
+    @JsonIgnore
+    public String getBudgetDetails() {
+        return content != null ? content.getBudgetDetails() : null;
+    }
+
+    public void setBudgetDetails(String budgetDetails) {
+        if (!Objects.equals(getBudgetDetails(), budgetDetails)) {
+            content().setBudgetDetails(budgetDetails);
+            contentChanged();
+        }
+    }
+
+    @JsonIgnore
+    public String getDetailedPlan() {
+        return content != null ? content.getDetailedPlan() : null;
+    }
+
+    public void setDetailedPlan(String detailedPlan) {
+        if (!Objects.equals(getDetailedPlan(), detailedPlan)) {
+            content().setDetailedPlan(detailedPlan);
+            contentChanged();
+        }
+    }
+
+    @JsonIgnore
+    public String getMonthlyPlan() {
+        return content != null ? content.getMonthlyPlan() : null;
+    }
+
+    public void setMonthlyPlan(String monthlyPlan) {
+        if (!Objects.equals(getMonthlyPlan(), monthlyPlan)) {
+            content().setMonthlyPlan(monthlyPlan);
+            contentChanged();
+        }
+    }
+
+    @JsonIgnore
+    public String getExpectedEffect() {
+        return content != null ? content.getExpectedEffect() : null;
+    }
+
+    public void setExpectedEffect(String expectedEffect) {
+        if (!Objects.equals(getExpectedEffect(), expectedEffect)) {
+            content().setExpectedEffect(expectedEffect);
+            contentChanged();
+        }
+    }
+
+    @JsonIgnore
+    public String getSectionFingerprints() {
+        return content != null ? content.getSectionFingerprints() : null;
+    }
+
+    public void setSectionFingerprints(String sectionFingerprints) {
+        if (!Objects.equals(getSectionFingerprints(), sectionFingerprints)) {
+            content().setSectionFingerprints(sectionFingerprints);
+            contentChanged();
+        }
+    }
+
+    // 본문은 이미 읽어 둔 경우(findWithContentById, 새로 만든 프로젝트)에만 JSON에 넣는다.
+    // 지연 로딩 프록시를 직렬화하다가 목록에서 N+1 조회나 세션 밖 LazyInitializationException이 나지 않게
+    @JsonAnyGetter
+    public Map<String, Object> contentProperties() {
+        if (!Hibernate.isInitialized(content)) {
+            return Map.of();
+        }
+
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("budgetDetails", getBudgetDetails());
+        properties.put("detailedPlan", getDetailedPlan());
+        properties.put("monthlyPlan", getMonthlyPlan());
+        properties.put("expectedEffect", getExpectedEffect());
+        return properties;
+    }
+
+    private ProjectContent content() {
+        if (content == null) {
+            content = new ProjectContent();
+        }
+        return content;
+    }
+
+    // 본문만 바뀌어도 projects 행을 수정 대상으로 만들어 버전/수정 시각이 올라가게 한다 (ETag, 렌더 캐시 무효화)
+    private void contentChanged() {
+        updatedAt = LocalDateTime.now();
+    }
+
     @PrePersist
     protected void onCreate() {
+        content();
         createdAt = LocalDateTime.now();
         updatedAt = LocalDateTime.now();
     }
@@ -0,0 +1,35 @@
+package com.example.businessplan.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+/**
+ * 프로젝트 본문 (사업비 산출내역 JSON, 생성된 계획서 섹션).
+ * 크기가 커서 projects 행과 따로 두고, 생성/다운로드/상세 조회에서만 읽는다.
+ */
+@Entity
+@Data
+@Table(name = "project_contents")
+public class ProjectContent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "project_content_seq")
+    @SequenceGenerator(name = "project_content_seq", sequenceName = "project_content_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(columnDefinition = "TEXT")
+    private String budgetDetails;
+
+    @Column(columnDefinition = "TEXT")
+    private String detailedPlan;
+
+    @Column(columnDefinition = "TEXT")
+    private String monthlyPlan;
+
+    @Column(columnDefinition = "TEXT")
+    private String expectedEffect;
+
+    // 섹션별 생성 입력(기본 정보 + 해당 섹션 Q/A)의 해시 (JSON), 바뀐 섹션만 다시 생성하는 데 사용
+    @Column(columnDefinition = "TEXT")
+    private String sectionFingerprints;
+}
@@ -0,0 +1,87 @@
+package com.example.businessplan.entity;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * 프로젝트 진행 상태. DB에는 기존과 같이 한글 라벨(String)로 저장된다.
+ */
+public enum ProjectStatus {
+
+    DRAFT("임시저장"),
+    QUESTIONS_GENERATING("질문생성중"),
+    QUESTIONS_FAILED("질문생성실패"),
+    AWAITING_ANSWERS("질문답변대기"),
+    EXPANDING("답변확장중"),
+    EXPANDED("답변확장완료"),
+    EXPANSION_FAILED("답변확장실패"),
+    PLAN_GENERATING("계획서생성중"),
+    PLAN_FAILED("계획서생성실패"),
+    COMPLETED("완료");
+
+    private final String label;
+
+    ProjectStatus(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public static ProjectStatus fromLabel(String label) {
+        if (label == null) return DRAFT;
+
+        for (ProjectStatus status : values()) {
+            if (status.label.equals(label)) {
+                return status;
+            }
+        }
+        return DRAFT;
+    }
+
+    public boolean canMoveTo(ProjectStatus next) {
+        return nextStatuses().contains(next);
+    }
+
+    public boolean isInProgress() {
+        return this == QUESTIONS_GENERATING || this == EXPANDING || this == PLAN_GENERATING;
+    }
+
+    // 진행 중 상태가 중단되었을 때 옮겨갈 실패 상태
+    public ProjectStatus failureStatus() {
+        switch (this) {
+            case QUESTIONS_GENERATING:
+                return QUESTIONS_FAILED;
+            case EXPANDING:
+                return EXPANSION_FAILED;
+            case PLAN_GENERATING:
+                return PLAN_FAILED;
+            default:
+                return this;
+        }
+    }
+
+    private Set<ProjectStatus> nextStatuses() {
+        switch (this) {
+            case DRAFT:
+            case QUESTIONS_FAILED:
+                return EnumSet.of(QUESTIONS_GENERATING);
+            case QUESTIONS_GENERATING:
+                return EnumSet.of(AWAITING_ANSWERS, QUESTIONS_FAILED);
+            case AWAITING_ANSWERS:
+                return EnumSet.of(QUESTIONS_GENERATING, EXPANDING, PLAN_GENERATING);
+            case EXPANDING:
+                return EnumSet.of(EXPANDED, EXPANSION_FAILED);
+            case PLAN_GENERATING:
+                return EnumSet.of(COMPLETED, PLAN_FAILED);
+            case EXPANDED:
+            case EXPANSION_FAILED:
+            case PLAN_FAILED:
+            case COMPLETED:
+                return EnumSet.of(EXPANDING, PLAN_GENERATING);
+            default:
+                return EnumSet.noneOf(ProjectStatus.class);
+        }
+    }
+}
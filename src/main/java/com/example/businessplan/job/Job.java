@@ -0,0 +1,57 @@
+package com.example.businessplan.job;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Getter
+public class Job {
+
+    private final String id;
+    private final JobType type;
+    private final Long projectId;
+    private final LocalDateTime createdAt;
+
+    private volatile JobState state = JobState.QUEUED;
+    private volatile int progress;
+    private volatile String message;
+    private volatile Map<String, Object> result;
+    private volatile String error;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+
+    Job(String id, JobType type, Long projectId) {
+        this.id = id;
+        this.type = type;
+        this.projectId = projectId;
+        this.createdAt = LocalDateTime.now();
+        this.message = "대기중";
+    }
+
+    void start() {
+        state = JobState.RUNNING;
+        startedAt = LocalDateTime.now();
+        message = "진행중";
+    }
+
+    void updateProgress(int percent, String message) {
+        this.progress = Math.max(0, Math.min(100, percent));
+        this.message = message;
+    }
+
+    void succeed(Map<String, Object> result) {
+        this.result = result;
+        this.progress = 100;
+        this.message = "완료";
+        this.finishedAt = LocalDateTime.now();
+        this.state = JobState.SUCCEEDED;
+    }
+
+    void fail(String error) {
+        this.error = error;
+        this.message = "실패";
+        this.finishedAt = LocalDateTime.now();
+        this.state = JobState.FAILED;
+    }
+}
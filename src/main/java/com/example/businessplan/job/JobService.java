@@ -0,0 +1,202 @@
+package com.example.businessplan.job;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+public class JobService {
+
+    private static final long SSE_TIMEOUT_MILLIS = 10 * 60 * 1000L;
+
+    private final ExecutorService jobExecutor;
+    private final long retentionMinutes;
+    private final ObservationRegistry observationRegistry;
+
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+    // (종류, 프로젝트)별 마지막으로 등록된 작업. 끝난 작업은 다음 등록 때 교체된다
+    private final Map<ActiveKey, Job> active = new ConcurrentHashMap<>();
+    private final Map<String, List<SseEmitter>> emitters = new ConcurrentHashMap<>();
+    private final AtomicLong joinedCount = new AtomicLong();
+
+    public JobService(@Qualifier("jobExecutor") ExecutorService jobExecutor,
+                      @Value("${job.retention-minutes:60}") long retentionMinutes,
+                      ObservationRegistry observationRegistry) {
+        this.jobExecutor = jobExecutor;
+        this.retentionMinutes = retentionMinutes;
+        this.observationRegistry = observationRegistry;
+    }
+
+    /**
+     * 같은 프로젝트에 같은 종류의 작업이 이미 대기/진행 중이면 새로 만들지 않고 그 작업을 돌려준다.
+     * 새로 만드는 경우에만 precheck(상태 전이 가능 여부 등)를 실행한다.
+     * precheck(DB 조회)는 잠금 밖에서 돌리고, 등록만 (종류, 프로젝트) 키 단위로 원자적으로 한다.
+     */
+    public Job submitOrJoin(JobType type, Long projectId, Runnable precheck, JobWork work) {
+        ActiveKey key = new ActiveKey(type, projectId);
+
+        Job running = activeJob(key);
+        if (running != null) {
+            return join(running);
+        }
+
+        try {
+            precheck.run();
+        } catch (RuntimeException e) {
+            // 그 사이 다른 요청이 작업을 시작해 상태가 바뀌었으면 실패 대신 합류
+            Job started = activeJob(key);
+            if (started != null) {
+                return join(started);
+            }
+            throw e;
+        }
+
+        Job candidate = new Job(UUID.randomUUID().toString(), type, projectId);
+        Job registered = active.compute(key, (k, current) ->
+                current != null && !current.getState().isFinished() ? current : candidate);
+        if (registered != candidate) {
+            return join(registered);
+        }
+
+        try {
+            return start(candidate, work);
+        } catch (RejectedExecutionException e) {
+            active.remove(key, candidate);
+            throw e;
+        }
+    }
+
+    public long getJoinedCount() {
+        return joinedCount.get();
+    }
+
+    public Job submit(JobType type, Long projectId, JobWork work) {
+        return start(new Job(UUID.randomUUID().toString(), type, projectId), work);
+    }
+
+    // 끝난 작업은 보존 기간이 지나면 주기적으로 지운다 (새 작업이 없어도)
+    @Scheduled(fixedDelayString = "${job.purge-interval-ms:60000}", initialDelayString = "${job.purge-interval-ms:60000}")
+    public void purgeFinishedJobs() {
+        LocalDateTime threshold = LocalDateTime.now().minusMinutes(retentionMinutes);
+        jobs.values().removeIf(job -> job.getFinishedAt() != null && job.getFinishedAt().isBefore(threshold));
+        active.values().removeIf(job -> job.getState().isFinished());
+    }
+
+    private Job activeJob(ActiveKey key) {
+        Job job = active.get(key);
+        return job != null && !job.getState().isFinished() ? job : null;
+    }
+
+    private Job join(Job job) {
+        joinedCount.incrementAndGet();
+        System.out.println("진행 중인 작업에 합류: " + job.getId() + " (" + job.getType() + ", 프로젝트 ID: " + job.getProjectId() + ")");
+        return job;
+    }
+
+    private Job start(Job job, JobWork work) {
+        jobs.put(job.getId(), job);
+
+        try {
+            jobExecutor.execute(() -> run(job, work));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.getId());
+            throw e;
+        }
+
+        System.out.println("작업 등록: " + job.getId() + " (" + job.getType() + ", 프로젝트 ID: " + job.getProjectId() + ")");
+        return job;
+    }
+
+    public Optional<Job> findJob(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId));
+    }
+
+    public SseEmitter subscribe(String jobId) {
+        Job job = findJob(jobId)
+                .orElseThrow(() -> new RuntimeException("작업을 찾을 수 없습니다"));
+
+        SseEmitter emitter = new SseEmitter(SSE_TIMEOUT_MILLIS);
+        List<SseEmitter> jobEmitters = emitters.computeIfAbsent(jobId, id -> new CopyOnWriteArrayList<>());
+        jobEmitters.add(emitter);
+
+        emitter.onCompletion(() -> jobEmitters.remove(emitter));
+        emitter.onTimeout(() -> jobEmitters.remove(emitter));
+        emitter.onError(e -> jobEmitters.remove(emitter));
+
+        // 현재 상태를 바로 한 번 보내고, 이미 끝난 작업이면 스트림을 닫는다
+        send(emitter, job);
+        if (job.getState().isFinished()) {
+            jobEmitters.remove(emitter);
+            emitter.complete();
+        }
+
+        return emitter;
+    }
+
+    private void run(Job job, JobWork work) {
+        job.start();
+        publish(job);
+
+        try {
+            Map<String, Object> result = Observation.createNotStarted("job.run", observationRegistry)
+                    .lowCardinalityKeyValue("type", job.getType().name())
+                    .observeChecked(() -> work.run((percent, message) -> {
+                        job.updateProgress(percent, message);
+                        publish(job);
+                    }));
+            job.succeed(result);
+            System.out.println("작업 완료: " + job.getId());
+
+        } catch (Exception e) {
+            System.err.println("작업 실패: " + job.getId() + " - " + e.getMessage());
+            e.printStackTrace();
+            job.fail(e.getMessage());
+        }
+
+        publish(job);
+
+        List<SseEmitter> jobEmitters = emitters.remove(job.getId());
+        if (jobEmitters != null) {
+            jobEmitters.forEach(SseEmitter::complete);
+        }
+    }
+
+    private void publish(Job job) {
+        List<SseEmitter> jobEmitters = emitters.get(job.getId());
+        if (jobEmitters == null) return;
+
+        for (SseEmitter emitter : jobEmitters) {
+            send(emitter, job);
+        }
+    }
+
+    private void send(SseEmitter emitter, Job job) {
+        try {
+            emitter.send(SseEmitter.event()
+                    .name(job.getState().isFinished() ? "done" : "progress")
+                    .data(job));
+        } catch (IOException | IllegalStateException e) {
+            // 클라이언트 연결 종료
+            emitter.completeWithError(e);
+        }
+    }
+
+    private record ActiveKey(JobType type, Long projectId) {
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.businessplan.job;
+
+public enum JobType {
+    CREATE_PROJECT,
+    GENERATE_QUESTIONS,
+    EXPAND_ANSWERS,
+    GENERATE_PLAN
+}
@@ -0,0 +1,9 @@
+package com.example.businessplan.job;
+
+import java.util.Map;
+
+@FunctionalInterface
+public interface JobWork {
+
+    Map<String, Object> run(ProgressListener progress) throws Exception;
+}
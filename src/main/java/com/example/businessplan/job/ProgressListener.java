@@ -0,0 +1,9 @@
+package com.example.businessplan.job;
+
+@FunctionalInterface
+public interface ProgressListener {
+
+    ProgressListener NONE = (percent, message) -> { };
+
+    void onProgress(int percent, String message);
+}
@@ -0,0 +1,245 @@
+package com.example.businessplan.llm;
+
+import com.theokanning.openai.OpenAiError;
+import com.theokanning.openai.OpenAiHttpException;
+import com.theokanning.openai.completion.chat.ChatCompletionRequest;
+import com.theokanning.openai.completion.chat.ChatMessage;
+import io.reactivex.BackpressureStrategy;
+import io.reactivex.Flowable;
+import io.reactivex.schedulers.Schedulers;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * API 키 없이 전체 흐름을 부하 테스트/프로파일링하기 위한 로컬 가짜 LLM.
+ * 같은 요청에는 항상 같은 지연/응답을 돌려준다 (llm.fake.seed 기준).
+ * 오류는 호출 순서 기준으로 결정되어, 재시도하면 성공할 수 있다.
+ *
+ * 응답 시간 = 첫 토큰 지연(분포에서 추출) + 출력 토큰 수 / 초당 토큰 수
+ */
+@Component
+@ConditionalOnProperty(name = "llm.backend", havingValue = "fake")
+public class FakeLlmClient implements LlmClient {
+
+    private static final int STREAM_CHUNK_CHARS = 4;
+
+    private final String latencyDistribution;
+    private final long latencyMillis;
+    private final long latencyJitterMillis;
+    private final double tokensPerSecond;
+    private final double errorRate;
+    private final int[] errorStatuses;
+    private final long seed;
+    private final Random errorRandom;
+
+    public FakeLlmClient(@Value("${llm.fake.latency-distribution:lognormal}") String latencyDistribution,
+                         @Value("${llm.fake.latency-ms:800}") long latencyMillis,
+                         @Value("${llm.fake.latency-jitter-ms:300}") long latencyJitterMillis,
+                         @Value("${llm.fake.tokens-per-second:60}") double tokensPerSecond,
+                         @Value("${llm.fake.error-rate:0.0}") double errorRate,
+                         @Value("${llm.fake.error-statuses:429,500,503}") String errorStatuses,
+                         @Value("${llm.fake.seed:42}") long seed) {
+        this.latencyDistribution = latencyDistribution;
+        this.latencyMillis = latencyMillis;
+        this.latencyJitterMillis = latencyJitterMillis;
+        this.tokensPerSecond = tokensPerSecond;
+        this.errorRate = errorRate;
+        this.errorStatuses = Arrays.stream(errorStatuses.split(","))
+                .map(String::trim)
+                .filter(status -> !status.isEmpty())
+                .mapToInt(Integer::parseInt)
+                .toArray();
+        this.seed = seed;
+        this.errorRandom = new Random(seed);
+        System.out.println("⚠️ 가짜 LLM 백엔드 사용 (" + latencyDistribution + ", " + latencyMillis + "ms, "
+                + tokensPerSecond + " tok/s, 오류율 " + errorRate + ")");
+    }
+
+    @Override
+    public LlmResponse complete(ChatCompletionRequest request) {
+        Random random = randomFor(request);
+        String content = cannedResponse(request);
+        long completionTokens = estimateTokens(content);
+
+        sleep(firstTokenLatency(random) + generationMillis(completionTokens));
+        maybeFail();
+
+        return new LlmResponse(content, request.getModel(), promptTokens(request), completionTokens);
+    }
+
+    @Override
+    public Flowable<String> stream(ChatCompletionRequest request) {
+        Random random = randomFor(request);
+        String content = cannedResponse(request);
+        long firstToken = firstTokenLatency(random);
+        boolean fails = nextFails();
+
+        List<String> chunks = new ArrayList<>();
+        for (int i = 0; i < content.length(); i += STREAM_CHUNK_CHARS) {
+            chunks.add(content.substring(i, Math.min(content.length(), i + STREAM_CHUNK_CHARS)));
+        }
+        long perChunk = tokensPerSecond > 0 ? (long) (1000 / tokensPerSecond) : 0;
+        // 중간까지 내보내다 끊기는 상황을 흉내낸다
+        int failAt = fails ? chunks.size() / 2 : -1;
+
+        // 실제 스트리밍 응답처럼 별도 IO 스레드에서 블로킹으로 토큰을 내보낸다
+        return Flowable.<String>create(emitter -> {
+                    sleep(firstToken);
+                    for (int i = 0; i < chunks.size(); i++) {
+                        if (emitter.isCancelled()) return;
+                        if (i == failAt) {
+                            emitter.onError(upstreamError());
+                            return;
+                        }
+                        emitter.onNext(chunks.get(i));
+                        sleep(perChunk);
+                    }
+                    emitter.onComplete();
+                }, BackpressureStrategy.BUFFER)
+                .subscribeOn(Schedulers.io());
+    }
+
+    private String cannedResponse(ChatCompletionRequest request) {
+        String prompt = userPrompt(request);
+
+        if (prompt.contains("확장해주세요")) {
+            return "본 사업은 지역 주민의 적극적인 참여를 바탕으로 추진됩니다. "
+                    + "신청자가 제시한 내용을 구체적인 실행 계획으로 구성하였습니다. "
+                    + "각 활동은 명확한 일정과 역할 분담에 따라 운영됩니다. "
+                    + "이를 통해 공동체의 결속력과 사업의 지속 가능성을 높이고자 합니다.";
+        }
+
+        if (prompt.contains("JSON")) {
+            return "{\"세부계획\": [\"세부사업의 일시와 장소는 어떻게 되나요?\", \"참여인원과 주요 내용은 무엇인가요?\"], "
+                    + "\"월별추진계획\": [\"월별로 진행할 주요 활동은 무엇인가요?\", \"준비와 홍보는 언제 하시나요?\"], "
+                    + "\"기대효과\": [\"주민에게 어떤 변화가 기대되나요?\", \"사업 후 지속 방안이 있나요?\"]}";
+        }
+
+        if (prompt.contains("질문") && prompt.contains("만들어주세요")) {
+            if (prompt.contains("월별")) {
+                return "1. 월별로 진행할 주요 활동은 무엇인가요?\n2. 준비와 홍보는 언제 하시나요?";
+            }
+            if (prompt.contains("기대효과")) {
+                return "1. 주민에게 어떤 변화가 기대되나요?\n2. 사업 후 지속 방안이 있나요?";
+            }
+            return "1. 세부사업의 일시와 장소는 어떻게 되나요?\n2. 참여인원과 주요 내용은 무엇인가요?";
+        }
+
+        String plan = "[세부계획]\n"
+                + "가) 세부사업별 내용\n"
+                + "❍ 마을 공동체 프로그램 운영\n"
+                + "- 일시/장소: 매월 둘째 주 토요일 / 마을회관\n"
+                + "- 참여인원: 주민 30명\n"
+                + "- 사업내용: 주민이 함께 기획하고 운영하는 정기 프로그램을 진행합니다.\n\n"
+                + "[월별추진계획]\n"
+                + "3월\n❍ 세부내용\n- 참여자 모집 및 사전 교육\n\n"
+                + "4월\n❍ 세부내용\n- 정기 프로그램 운영\n\n"
+                + "[기대효과]\n"
+                + "❍ 주민 간 교류가 늘어나 공동체 결속력이 강화됩니다.\n"
+                + "❍ 주민 주도 운영 경험이 쌓여 사업의 지속 가능성이 높아집니다.";
+
+        // 섹션 하나만 요청하면 그 섹션 본문만 돌려준다
+        if (prompt.contains("아래 섹션만 작성")) {
+            for (String section : List.of("세부계획", "월별추진계획", "기대효과")) {
+                if (prompt.contains("=== " + section + " 관련 답변 ===")) {
+                    int start = plan.indexOf("[" + section + "]") + section.length() + 3;
+                    int end = plan.indexOf("\n[", start);
+                    return plan.substring(start, end < 0 ? plan.length() : end).trim();
+                }
+            }
+        }
+        return plan;
+    }
+
+    private long firstTokenLatency(Random random) {
+        double value;
+        switch (latencyDistribution) {
+            case "fixed":
+                value = latencyMillis;
+                break;
+            case "uniform":
+                value = latencyMillis - latencyJitterMillis + random.nextDouble() * 2 * latencyJitterMillis;
+                break;
+            case "normal":
+                value = latencyMillis + random.nextGaussian() * latencyJitterMillis;
+                break;
+            case "lognormal":
+            default:
+                // 중앙값 latencyMillis, 꼬리가 긴 분포 (실제 LLM 지연과 비슷)
+                double sigma = latencyMillis > 0 ? Math.log1p((double) latencyJitterMillis / latencyMillis) : 0;
+                value = latencyMillis * Math.exp(sigma * random.nextGaussian());
+                break;
+        }
+        return Math.max(0, (long) value);
+    }
+
+    private long generationMillis(long completionTokens) {
+        return tokensPerSecond > 0 ? (long) (completionTokens * 1000 / tokensPerSecond) : 0;
+    }
+
+    private void maybeFail() {
+        if (nextFails()) {
+            throw upstreamError();
+        }
+    }
+
+    private boolean nextFails() {
+        synchronized (errorRandom) {
+            return errorRandom.nextDouble() < errorRate;
+        }
+    }
+
+    private OpenAiHttpException upstreamError() {
+        int status;
+        synchronized (errorRandom) {
+            status = errorStatuses.length > 0 ? errorStatuses[errorRandom.nextInt(errorStatuses.length)] : 500;
+        }
+        OpenAiError error = new OpenAiError(new OpenAiError.OpenAiErrorDetails(
+                "fake upstream error (" + status + ")", "server_error", null, String.valueOf(status)));
+        return new OpenAiHttpException(error, null, status);
+    }
+
+    private Random randomFor(ChatCompletionRequest request) {
+        return new Random(seed ^ (userPrompt(request).hashCode() * 31L + String.valueOf(request.getMaxTokens()).hashCode()));
+    }
+
+    private String userPrompt(ChatCompletionRequest request) {
+        StringBuilder prompt = new StringBuilder();
+        for (ChatMessage message : request.getMessages()) {
+            if ("user".equals(message.getRole())) {
+                prompt.append(message.getContent());
+            }
+        }
+        return prompt.toString();
+    }
+
+    private long promptTokens(ChatCompletionRequest request) {
+        long tokens = 0;
+        for (ChatMessage message : request.getMessages()) {
+            tokens += estimateTokens(message.getContent());
+        }
+        return tokens;
+    }
+
+    // 한글 기준 대략 글자당 1토큰
+    private long estimateTokens(String text) {
+        return text != null ? text.length() : 0;
+    }
+
+    private void sleep(long millis) {
+        if (millis <= 0) return;
+
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("가짜 LLM 호출이 중단되었습니다", e);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.businessplan.llm;
+
+import com.theokanning.openai.completion.chat.ChatCompletionRequest;
+import io.reactivex.Flowable;
+
+/**
+ * GptService 아래에서 실제 LLM 호출을 담당하는 백엔드.
+ * llm.backend=openai(기본) | fake 로 선택한다.
+ */
+public interface LlmClient {
+
+    LlmResponse complete(ChatCompletionRequest request);
+
+    // 응답 텍스트 조각(delta)을 도착하는 대로 내보낸다
+    Flowable<String> stream(ChatCompletionRequest request);
+}
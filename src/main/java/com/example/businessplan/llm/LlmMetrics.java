@@ -0,0 +1,149 @@
+package com.example.businessplan.llm;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import io.reactivex.Flowable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * LLM 호출별 지연시간/토큰/예상 비용/오류 지표.
+ * - llm.call        : 호출 타이머 (operation, model, outcome), 재시도 포함 전체 시간
+ * - llm.tokens      : prompt/completion 토큰 수 (응답의 usage 기준)
+ * - llm.cost        : 단가 설정 기준 예상 비용 (USD)
+ * - llm.errors      : 실패 횟수 (operation, model, outcome, exception)
+ * 캐시 적중은 llm.call에 outcome=cache_hit으로 기록된다.
+ */
+@Component
+public class LlmMetrics {
+
+    private final ObservationRegistry observationRegistry;
+    private final MeterRegistry meterRegistry;
+    private final double promptPricePer1k;
+    private final double completionPricePer1k;
+
+    public LlmMetrics(ObservationRegistry observationRegistry,
+                      MeterRegistry meterRegistry,
+                      @Value("${llm.pricing.prompt-per-1k-tokens:0.0015}") double promptPricePer1k,
+                      @Value("${llm.pricing.completion-per-1k-tokens:0.002}") double completionPricePer1k) {
+        this.observationRegistry = observationRegistry;
+        this.meterRegistry = meterRegistry;
+        this.promptPricePer1k = promptPricePer1k;
+        this.completionPricePer1k = completionPricePer1k;
+    }
+
+    public LlmResponse observe(String operation, String model, Supplier<LlmResponse> call) {
+        Observation observation = start(operation, model);
+
+        try (Observation.Scope ignored = observation.openScope()) {
+            LlmResponse response = call.get();
+            observation.lowCardinalityKeyValue("outcome", "success");
+            recordUsage(operation, model, response);
+            return response;
+
+        } catch (RuntimeException e) {
+            fail(observation, operation, model, e);
+            throw e;
+
+        } finally {
+            observation.stop();
+        }
+    }
+
+    // 스트리밍은 usage가 오지 않으므로 시간/결과만 기록
+    public Flowable<String> observeStream(String operation, String model, Flowable<String> source) {
+        return Flowable.defer(() -> {
+            Observation observation = start(operation, model);
+
+            return source
+                    .doOnComplete(() -> {
+                        observation.lowCardinalityKeyValue("outcome", "success");
+                        observation.stop();
+                    })
+                    .doOnError(e -> {
+                        fail(observation, operation, model, e);
+                        observation.stop();
+                    })
+                    .doOnCancel(() -> {
+                        observation.lowCardinalityKeyValue("outcome", "cancelled");
+                        observation.stop();
+                    });
+        });
+    }
+
+    public void recordCacheHit(String operation, String model) {
+        Observation.createNotStarted("llm.call", observationRegistry)
+                .lowCardinalityKeyValue("operation", operation)
+                .lowCardinalityKeyValue("model", model)
+                .lowCardinalityKeyValue("outcome", "cache_hit")
+                .start()
+                .stop();
+    }
+
+    private Observation start(String operation, String model) {
+        return Observation.createNotStarted("llm.call", observationRegistry)
+                .contextualName("llm " + operation)
+                .lowCardinalityKeyValue("operation", operation)
+                .lowCardinalityKeyValue("model", model)
+                .start();
+    }
+
+    private void fail(Observation observation, String operation, String model, Throwable e) {
+        String outcome = outcomeOf(e);
+        observation.lowCardinalityKeyValue("outcome", outcome);
+        observation.error(e);
+
+        Counter.builder("llm.errors")
+                .description("LLM 호출 실패 횟수")
+                .tag("operation", operation)
+                .tag("model", model)
+                .tag("outcome", outcome)
+                .tag("exception", e.getClass().getSimpleName())
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private void recordUsage(String operation, String model, LlmResponse response) {
+        Counter.builder("llm.tokens")
+                .description("LLM 사용 토큰 수")
+                .baseUnit("tokens")
+                .tag("operation", operation)
+                .tag("model", model)
+                .tag("type", "prompt")
+                .register(meterRegistry)
+                .increment(response.promptTokens());
+
+        Counter.builder("llm.tokens")
+                .description("LLM 사용 토큰 수")
+                .baseUnit("tokens")
+                .tag("operation", operation)
+                .tag("model", model)
+                .tag("type", "completion")
+                .register(meterRegistry)
+                .increment(response.completionTokens());
+
+        double cost = response.promptTokens() / 1000.0 * promptPricePer1k
+                + response.completionTokens() / 1000.0 * completionPricePer1k;
+
+        Counter.builder("llm.cost")
+                .description("LLM 예상 비용")
+                .baseUnit("usd")
+                .tag("operation", operation)
+                .tag("model", model)
+                .register(meterRegistry)
+                .increment(cost);
+    }
+
+    private String outcomeOf(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof LlmUnavailableException) return "rejected";
+            if (t instanceof TimeoutException) return "timeout";
+        }
+        return "error";
+    }
+}
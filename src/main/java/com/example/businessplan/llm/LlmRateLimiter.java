@@ -0,0 +1,70 @@
+package com.example.businessplan.llm;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * OpenAI 할당량(분당 요청 수 / 분당 토큰 수)을 넘지 않도록 호출 전에 대기시키는 토큰 버킷.
+ * 두 버킷 모두 여유가 있을 때만 통과시킨다.
+ */
+@Component
+public class LlmRateLimiter {
+
+    private final Bucket requestBucket;
+    private final Bucket tokenBucket;
+
+    public LlmRateLimiter(@Value("${llm.rate-limit.requests-per-minute:500}") long requestsPerMinute,
+                          @Value("${llm.rate-limit.tokens-per-minute:90000}") long tokensPerMinute) {
+        this.requestBucket = new Bucket(requestsPerMinute);
+        this.tokenBucket = new Bucket(tokensPerMinute);
+    }
+
+    public void acquire(long estimatedTokens) throws InterruptedException {
+        while (true) {
+            long waitNanos;
+
+            synchronized (this) {
+                long now = System.nanoTime();
+                requestBucket.refill(now);
+                tokenBucket.refill(now);
+
+                double tokens = Math.min(estimatedTokens, tokenBucket.capacity);
+                if (requestBucket.available >= 1 && tokenBucket.available >= tokens) {
+                    requestBucket.available -= 1;
+                    tokenBucket.available -= tokens;
+                    return;
+                }
+
+                waitNanos = Math.max(requestBucket.nanosUntil(1), tokenBucket.nanosUntil(tokens));
+            }
+
+            TimeUnit.NANOSECONDS.sleep(Math.max(waitNanos, TimeUnit.MILLISECONDS.toNanos(1)));
+        }
+    }
+
+    private static class Bucket {
+        private final double capacity;
+        private final double refillPerNano;
+        private double available;
+        private long lastRefill;
+
+        Bucket(long perMinute) {
+            this.capacity = Math.max(1, perMinute);
+            this.refillPerNano = capacity / TimeUnit.MINUTES.toNanos(1);
+            this.available = capacity;
+            this.lastRefill = System.nanoTime();
+        }
+
+        void refill(long now) {
+            available = Math.min(capacity, available + (now - lastRefill) * refillPerNano);
+            lastRefill = now;
+        }
+
+        long nanosUntil(double amount) {
+            double missing = amount - available;
+            return missing <= 0 ? 0 : (long) Math.ceil(missing / refillPerNano);
+        }
+    }
+}
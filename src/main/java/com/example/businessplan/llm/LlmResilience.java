@@ -0,0 +1,416 @@
+package com.example.businessplan.llm;
+
+import com.theokanning.openai.OpenAiHttpException;
+import io.reactivex.Flowable;
+import io.reactivex.schedulers.Schedulers;
+import jakarta.annotation.PreDestroy;
+import okhttp3.Headers;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import retrofit2.HttpException;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 모든 LLM 호출을 감싸는 안정성 계층.
+ * - 호출 종류별 타임아웃 (질문 생성은 짧게, 2페이지 생성은 길게)
+ * - 일시적 오류(429, 5xx, 타임아웃)는 지수 백오프 + 지터로 재시도, Retry-After 헤더 우선
+ * - 연속 실패 시 서킷을 열어 일정 시간 즉시 실패
+ * - (선택) 질문 생성 호출은 응답이 늦으면 같은 요청을 한 번 더 보내 먼저 온 응답 사용 (hedging)
+ *
+ * 원래 호출은 대기열이 있는 호출 풀에서 실행하고, 대기열까지 차면 호출한 스레드가 직접 실행한다 (거절하지 않음).
+ * hedge는 별도의 작은 풀에서만 실행하며, 자리가 없으면 보내지 않는다.
+ */
+@Component
+public class LlmResilience {
+
+    private final long questionTimeoutMillis;
+    private final long expansionTimeoutMillis;
+    private final long page2TimeoutMillis;
+    private final int maxAttempts;
+    private final long backoffBaseMillis;
+    private final long backoffMaxMillis;
+    private final boolean hedgeEnabled;
+    private final long hedgeDelayMillis;
+
+    private final CircuitBreaker breaker;
+    private final ThreadPoolExecutor callExecutor;
+    private final ThreadPoolExecutor hedgeExecutor;
+
+    private final AtomicLong retries = new AtomicLong();
+    private final AtomicLong timeouts = new AtomicLong();
+    private final AtomicLong hedges = new AtomicLong();
+    private final AtomicLong hedgesRejected = new AtomicLong();
+    private final AtomicLong shortCircuited = new AtomicLong();
+
+    public LlmResilience(@Value("${llm.resilience.timeout.question-ms:15000}") long questionTimeoutMillis,
+                         @Value("${llm.resilience.timeout.expansion-ms:30000}") long expansionTimeoutMillis,
+                         @Value("${llm.resilience.timeout.page2-ms:75000}") long page2TimeoutMillis,
+                         @Value("${llm.resilience.retry.max-attempts:3}") int maxAttempts,
+                         @Value("${llm.resilience.retry.backoff-base-ms:500}") long backoffBaseMillis,
+                         @Value("${llm.resilience.retry.backoff-max-ms:8000}") long backoffMaxMillis,
+                         @Value("${llm.resilience.breaker.failure-threshold:5}") int failureThreshold,
+                         @Value("${llm.resilience.breaker.open-seconds:30}") long openSeconds,
+                         @Value("${llm.resilience.hedge.enabled:false}") boolean hedgeEnabled,
+                         @Value("${llm.resilience.hedge.delay-ms:3000}") long hedgeDelayMillis,
+                         @Value("${llm.resilience.hedge.max-concurrent:4}") int maxConcurrentHedges,
+                         @Value("${llm.resilience.max-concurrent-calls:32}") int maxConcurrentCalls,
+                         @Value("${llm.resilience.call-queue-capacity:100}") int callQueueCapacity) {
+        this.questionTimeoutMillis = questionTimeoutMillis;
+        this.expansionTimeoutMillis = expansionTimeoutMillis;
+        this.page2TimeoutMillis = page2TimeoutMillis;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.backoffBaseMillis = backoffBaseMillis;
+        this.backoffMaxMillis = backoffMaxMillis;
+        this.hedgeEnabled = hedgeEnabled && maxConcurrentHedges > 0;
+        this.hedgeDelayMillis = hedgeDelayMillis;
+        this.breaker = new CircuitBreaker(failureThreshold, Duration.ofSeconds(openSeconds));
+
+        this.callExecutor = new ThreadPoolExecutor(
+                Math.max(1, maxConcurrentCalls), Math.max(1, maxConcurrentCalls),
+                60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(Math.max(1, callQueueCapacity)),
+                daemonThreads("llm-call-"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        this.callExecutor.allowCoreThreadTimeOut(true);
+
+        this.hedgeExecutor = new ThreadPoolExecutor(
+                0, Math.max(1, maxConcurrentHedges),
+                60L, TimeUnit.SECONDS,
+                new SynchronousQueue<>(),
+                daemonThreads("llm-hedge-"),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger(1);
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        callExecutor.shutdownNow();
+        hedgeExecutor.shutdownNow();
+    }
+
+    public <T> T execute(String operation, Callable<T> call) {
+        for (int attempt = 1; ; attempt++) {
+            acquirePermission(operation);
+
+            try {
+                T result = attempt(operation, call);
+                breaker.onSuccess();
+                return result;
+
+            } catch (Exception e) {
+                boolean transientError = isTransient(e);
+                if (transientError) {
+                    breaker.onFailure();
+                } else {
+                    // 4xx나 로컬 오류는 상위 서비스가 회복됐다는 근거가 아니므로 상태는 두고 시험 호출 자리만 돌려준다
+                    breaker.release();
+                }
+
+                if (!transientError || attempt >= maxAttempts) {
+                    throw asRuntime(e);
+                }
+
+                long delay = backoffMillis(attempt, e);
+                System.err.println("LLM 호출 재시도 (" + operation + ", " + attempt + "/" + maxAttempts
+                        + ", " + delay + "ms 후): " + e.getMessage());
+                retries.incrementAndGet();
+                sleep(delay);
+            }
+        }
+    }
+
+    // 스트리밍은 토큰이 이미 나간 뒤에는 재시도할 수 없으므로 서킷과 전체 시간 제한만 적용
+    // (일반 호출과 같은 작업별 타임아웃, 넘으면 TimeoutException으로 스트림을 끊는다)
+    public Flowable<String> stream(String operation, Supplier<Flowable<String>> source) {
+        long timeoutMillis = timeoutFor(operation);
+        Flowable<String> deadline = Flowable.timer(timeoutMillis, TimeUnit.MILLISECONDS)
+                .flatMap(tick -> {
+                    timeouts.incrementAndGet();
+                    return Flowable.error(new TimeoutException("LLM 응답 시간 초과 (" + operation + ", " + timeoutMillis + "ms)"));
+                });
+
+        return Flowable.defer(() -> {
+                    acquirePermission(operation);
+                    return source.get();
+                })
+                // 서킷 거절이 요청 스레드에서 바로 터지지 않도록 구독은 별도 스레드에서
+                .subscribeOn(Schedulers.io())
+                .takeUntil(deadline)
+                .doOnComplete(breaker::onSuccess)
+                .doOnError(e -> {
+                    if (isTransient(e)) {
+                        breaker.onFailure();
+                    } else {
+                        breaker.release();
+                    }
+                })
+                .doOnCancel(breaker::release);
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("breakerState", breaker.state().name());
+        stats.put("retries", retries.get());
+        stats.put("timeouts", timeouts.get());
+        stats.put("hedges", hedges.get());
+        stats.put("hedgesRejected", hedgesRejected.get());
+        stats.put("shortCircuited", shortCircuited.get());
+        return stats;
+    }
+
+    public String breakerState() {
+        return breaker.state().name();
+    }
+
+    private void acquirePermission(String operation) {
+        if (!breaker.tryAcquire()) {
+            shortCircuited.incrementAndGet();
+            throw new LlmUnavailableException("AI 서비스 응답이 불안정하여 잠시 요청을 중단했습니다. 잠시 후 다시 시도해주세요. (" + operation + ")");
+        }
+    }
+
+    private <T> T attempt(String operation, Callable<T> call) throws Exception {
+        long timeoutMillis = timeoutFor(operation);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        boolean hedgePending = hedgeEnabled && isHedgeable(operation);
+
+        // 원래 호출과 hedge는 다른 풀에서 돌지만 완료 순서는 한 대기열에서 본다
+        BlockingQueue<Future<T>> done = new LinkedBlockingQueue<>();
+        ExecutorCompletionService<T> primary = new ExecutorCompletionService<>(callExecutor, done);
+        ExecutorCompletionService<T> hedge = new ExecutorCompletionService<>(hedgeExecutor, done);
+        List<Future<T>> futures = new ArrayList<>();
+        futures.add(primary.submit(call));
+        int pending = 1;
+        Exception lastError = null;
+
+        try {
+            while (pending > 0) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) break;
+
+                long wait = hedgePending
+                        ? Math.min(remaining, TimeUnit.MILLISECONDS.toNanos(hedgeDelayMillis))
+                        : remaining;
+                Future<T> finished = done.poll(wait, TimeUnit.NANOSECONDS);
+
+                if (finished == null) {
+                    if (hedgePending) {
+                        hedgePending = false;
+                        try {
+                            futures.add(hedge.submit(call));
+                            pending++;
+                            hedges.incrementAndGet();
+                        } catch (RejectedExecutionException e) {
+                            // hedge 풀이 가득 차면 hedge 없이 원래 호출만 기다린다
+                            hedgesRejected.incrementAndGet();
+                        }
+                    }
+                    continue;
+                }
+
+                pending--;
+                try {
+                    return finished.get();
+                } catch (ExecutionException e) {
+                    lastError = e.getCause() instanceof Exception cause ? cause : e;
+                }
+            }
+        } finally {
+            futures.forEach(future -> future.cancel(true));
+        }
+
+        if (lastError != null) {
+            throw lastError;
+        }
+        timeouts.incrementAndGet();
+        throw new TimeoutException("LLM 응답 시간 초과 (" + operation + ", " + timeoutMillis + "ms)");
+    }
+
+    private long timeoutFor(String operation) {
+        if (operation.endsWith("Questions")) return questionTimeoutMillis;
+        if (operation.startsWith("page2")) return page2TimeoutMillis;
+        return expansionTimeoutMillis;
+    }
+
+    // 같은 요청을 두 번 보내도 안전한(짧은) 질문 생성만 hedging 대상
+    private boolean isHedgeable(String operation) {
+        return operation.endsWith("Questions");
+    }
+
+    private long backoffMillis(int attempt, Throwable error) {
+        long retryAfter = retryAfterMillis(error);
+        if (retryAfter >= 0) {
+            return Math.min(retryAfter, backoffMaxMillis * 4);
+        }
+
+        // full jitter: 0 ~ min(max, base * 2^(attempt-1))
+        long ceiling = Math.min(backoffMaxMillis, backoffBaseMillis << Math.min(attempt - 1, 20));
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    private long retryAfterMillis(Throwable error) {
+        for (Throwable t = error; t != null; t = t.getCause()) {
+            if (t instanceof HttpException http && http.response() != null) {
+                Headers headers = http.response().headers();
+
+                String millis = headers.get("retry-after-ms");
+                if (millis != null) {
+                    try {
+                        return (long) Double.parseDouble(millis.trim());
+                    } catch (NumberFormatException ignored) {
+                    }
+                }
+
+                String value = headers.get("Retry-After");
+                if (value != null) {
+                    try {
+                        return (long) (Double.parseDouble(value.trim()) * 1000);
+                    } catch (NumberFormatException e) {
+                        try {
+                            ZonedDateTime at = ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME);
+                            return Math.max(0, Duration.between(ZonedDateTime.now(at.getZone()), at).toMillis());
+                        } catch (RuntimeException ignored) {
+                        }
+                    }
+                }
+            }
+        }
+        return -1;
+    }
+
+    private boolean isTransient(Throwable error) {
+        for (Throwable t = error; t != null; t = t.getCause()) {
+            if (t instanceof LlmUnavailableException) {
+                return false;
+            }
+            if (t instanceof OpenAiHttpException http) {
+                if (http.statusCode == 429 && "insufficient_quota".equals(http.code)) {
+                    return false;
+                }
+                return isTransientStatus(http.statusCode);
+            }
+            if (t instanceof HttpException http) {
+                return isTransientStatus(http.code());
+            }
+            if (t instanceof TimeoutException || t instanceof IOException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isTransientStatus(int status) {
+        return status == 408 || status == 409 || status == 429 || status >= 500;
+    }
+
+    private RuntimeException asRuntime(Exception e) {
+        return e instanceof RuntimeException runtimeException
+                ? runtimeException
+                : new RuntimeException(e.getMessage(), e);
+    }
+
+    private void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("LLM 호출 재시도가 중단되었습니다", e);
+        }
+    }
+
+    enum State { CLOSED, OPEN, HALF_OPEN }
+
+    // 연속 실패 횟수 기반 서킷 브레이커 (HALF_OPEN에서는 시험 호출 1건만 허용)
+    static class CircuitBreaker {
+        private final int failureThreshold;
+        private final Duration openDuration;
+
+        private State state = State.CLOSED;
+        private int consecutiveFailures;
+        private long openedAt;
+        private boolean trialInFlight;
+
+        CircuitBreaker(int failureThreshold, Duration openDuration) {
+            this.failureThreshold = Math.max(1, failureThreshold);
+            this.openDuration = openDuration;
+        }
+
+        synchronized boolean tryAcquire() {
+            if (state == State.OPEN) {
+                if (System.nanoTime() - openedAt < openDuration.toNanos()) {
+                    return false;
+                }
+                state = State.HALF_OPEN;
+                trialInFlight = false;
+            }
+
+            if (state == State.HALF_OPEN) {
+                if (trialInFlight) {
+                    return false;
+                }
+                trialInFlight = true;
+            }
+            return true;
+        }
+
+        synchronized void onSuccess() {
+            state = State.CLOSED;
+            consecutiveFailures = 0;
+            trialInFlight = false;
+        }
+
+        // 결과가 상위 서비스 상태를 말해 주지 않는 경우 (4xx, 로컬 오류, 스트림 취소): 시험 호출 자리만 돌려준다
+        synchronized void release() {
+            trialInFlight = false;
+        }
+
+        synchronized void onFailure() {
+            consecutiveFailures++;
+            trialInFlight = false;
+
+            if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+                if (state != State.OPEN) {
+                    System.err.println("⚠️ LLM 서킷 OPEN (연속 실패 " + consecutiveFailures + "회)");
+                }
+                state = State.OPEN;
+                openedAt = System.nanoTime();
+            }
+        }
+
+        synchronized State state() {
+            return state;
+        }
+    }
+}
@@ -0,0 +1,4 @@
+package com.example.businessplan.llm;
+
+public record LlmResponse(String content, String model, long promptTokens, long completionTokens) {
+}
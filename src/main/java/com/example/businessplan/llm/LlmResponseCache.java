@@ -0,0 +1,332 @@
+package com.example.businessplan.llm;
+
+import com.theokanning.openai.completion.chat.ChatCompletionRequest;
+import com.theokanning.openai.completion.chat.ChatMessage;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * (model, messages, temperature, maxTokens) 해시를 키로 하는 LLM 응답 캐시.
+ * 메모리(LRU + TTL)를 먼저 보고, 설정된 경우 디스크 계층을 본다.
+ * 디스크 계층은 쓴 순서대로 관리하며, 만료되었거나 용량(바이트/개수)을 넘는 가장 오래된 파일부터 지운다.
+ * 캐시는 llm.cache.operations 에 등록된 호출에만 적용된다.
+ */
+@Component
+public class LlmResponseCache {
+
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final Set<String> cachedOperations;
+    private final Path diskDir;
+    private final long diskMaxBytes;
+    private final int diskMaxEntries;
+
+    private final LinkedHashMap<String, Entry> memory = new LinkedHashMap<>(16, 0.75f, true);
+    private long memoryBytes;
+
+    // 디스크 파일 키 → (크기, 쓴 시각). 쓴 순서를 유지하므로 만료 파일은 항상 앞쪽에 있다
+    private final LinkedHashMap<String, DiskEntry> disk = new LinkedHashMap<>();
+    private long diskBytes;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong diskHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong diskEvictions = new AtomicLong();
+
+    public LlmResponseCache(
+            @Value("${llm.cache.max-entries:1000}") int maxEntries,
+            @Value("${llm.cache.ttl-minutes:1440}") long ttlMinutes,
+            @Value("${llm.cache.operations:allSectionQuestions,detailedPlanQuestions,monthlyPlanQuestions,expectedEffectQuestions}") String operations,
+            @Value("${llm.cache.disk-dir:}") String diskDir,
+            @Value("${llm.cache.disk-max-mb:200}") long diskMaxMb,
+            @Value("${llm.cache.disk-max-entries:10000}") int diskMaxEntries) {
+        this.maxEntries = Math.max(1, maxEntries);
+        this.ttlMillis = Duration.ofMinutes(ttlMinutes).toMillis();
+        this.cachedOperations = Arrays.stream(operations.split(","))
+                .map(String::trim)
+                .filter(op -> !op.isEmpty())
+                .collect(Collectors.toSet());
+        this.diskDir = diskDir.isBlank() ? null : Paths.get(diskDir);
+        this.diskMaxBytes = Math.max(1, diskMaxMb) * 1024 * 1024;
+        this.diskMaxEntries = Math.max(1, diskMaxEntries);
+
+        if (this.diskDir != null) {
+            initDisk();
+        }
+    }
+
+    public boolean isEnabledFor(String operation) {
+        return cachedOperations.contains(operation);
+    }
+
+    public String key(ChatCompletionRequest request) {
+        StringBuilder canonical = new StringBuilder();
+        canonical.append(request.getModel()).append('\u0000')
+                .append(request.getTemperature()).append('\u0000')
+                .append(request.getMaxTokens()).append('\u0000');
+        for (ChatMessage message : request.getMessages()) {
+            canonical.append(message.getRole()).append('\u0001')
+                    .append(message.getContent()).append('\u0002');
+        }
+        return sha256(canonical.toString());
+    }
+
+    public Optional<String> get(String key) {
+        long now = System.currentTimeMillis();
+
+        synchronized (this) {
+            Entry entry = memory.get(key);
+            if (entry != null) {
+                if (entry.expiresAt > now) {
+                    hits.incrementAndGet();
+                    return Optional.of(entry.value);
+                }
+                remove(key);
+            }
+        }
+
+        Optional<String> fromDisk = readDisk(key, now);
+        if (fromDisk.isPresent()) {
+            diskHits.incrementAndGet();
+            putMemory(key, fromDisk.get(), now);
+            return fromDisk;
+        }
+
+        misses.incrementAndGet();
+        return Optional.empty();
+    }
+
+    public void put(String key, String value) {
+        if (value == null) return;
+
+        putMemory(key, value, System.currentTimeMillis());
+        writeDisk(key, value);
+    }
+
+    public synchronized void clear() {
+        memory.clear();
+        memoryBytes = 0;
+        disk.clear();
+        diskBytes = 0;
+
+        if (diskDir != null) {
+            try (Stream<Path> files = Files.list(diskDir)) {
+                files.forEach(this::deleteQuietly);
+            } catch (IOException e) {
+                System.err.println("LLM 캐시 디스크 정리 실패: " + e.getMessage());
+            }
+        }
+    }
+
+    public synchronized Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("hits", hits.get());
+        stats.put("diskHits", diskHits.get());
+        stats.put("misses", misses.get());
+        stats.put("evictions", evictions.get());
+        stats.put("entries", memory.size());
+        stats.put("bytes", memoryBytes);
+        stats.put("diskEnabled", diskDir != null);
+        stats.put("diskEntries", disk.size());
+        stats.put("diskBytes", diskBytes);
+        stats.put("diskEvictions", diskEvictions.get());
+        return stats;
+    }
+
+    public long hitCount() {
+        return hits.get() + diskHits.get();
+    }
+
+    public long missCount() {
+        return misses.get();
+    }
+
+    public synchronized long byteCount() {
+        return memoryBytes;
+    }
+
+    private synchronized void putMemory(String key, String value, long now) {
+        remove(key);
+
+        Entry entry = new Entry(value, now + ttlMillis);
+        memory.put(key, entry);
+        memoryBytes += entry.bytes;
+
+        while (memory.size() > maxEntries) {
+            String eldest = memory.keySet().iterator().next();
+            remove(eldest);
+            evictions.incrementAndGet();
+        }
+    }
+
+    private void remove(String key) {
+        Entry removed = memory.remove(key);
+        if (removed != null) {
+            memoryBytes -= removed.bytes;
+        }
+    }
+
+    private Optional<String> readDisk(String key, long now) {
+        if (diskDir == null) return Optional.empty();
+
+        synchronized (this) {
+            DiskEntry entry = disk.get(key);
+            if (entry == null) return Optional.empty();
+
+            if (entry.writtenAt + ttlMillis <= now) {
+                removeDisk(key);
+                return Optional.empty();
+            }
+        }
+
+        try {
+            return Optional.of(Files.readString(diskDir.resolve(key), StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            // 밖에서 지워진 파일
+            synchronized (this) {
+                removeDisk(key);
+            }
+            return Optional.empty();
+        }
+    }
+
+    private void writeDisk(String key, String value) {
+        if (diskDir == null) return;
+
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        try {
+            // 다른 스레드가 쓰다 만 파일을 읽지 않도록 임시 파일에 쓴 뒤 교체
+            Path temp = Files.createTempFile(diskDir, key, ".tmp");
+            Files.write(temp, bytes);
+            Files.move(temp, diskDir.resolve(key), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("LLM 캐시 디스크 저장 실패: " + e.getMessage());
+            return;
+        }
+
+        synchronized (this) {
+            DiskEntry previous = disk.remove(key);
+            if (previous != null) {
+                diskBytes -= previous.bytes;
+            }
+            disk.put(key, new DiskEntry(bytes.length, System.currentTimeMillis()));
+            diskBytes += bytes.length;
+            trimDisk(System.currentTimeMillis());
+        }
+    }
+
+    // 앞쪽(가장 오래 전에 쓴 파일)부터 만료분과 용량 초과분을 지운다
+    private void trimDisk(long now) {
+        while (!disk.isEmpty()) {
+            Map.Entry<String, DiskEntry> eldest = disk.entrySet().iterator().next();
+            boolean expired = eldest.getValue().writtenAt + ttlMillis <= now;
+            boolean over = diskBytes > diskMaxBytes || disk.size() > diskMaxEntries;
+            if (!expired && !over) break;
+
+            removeDisk(eldest.getKey());
+            if (!expired) {
+                diskEvictions.incrementAndGet();
+            }
+        }
+    }
+
+    private void removeDisk(String key) {
+        DiskEntry removed = disk.remove(key);
+        if (removed != null) {
+            diskBytes -= removed.bytes;
+            deleteQuietly(diskDir.resolve(key));
+        }
+    }
+
+    private void initDisk() {
+        try {
+            Files.createDirectories(diskDir);
+
+            // 이전 실행에서 남은 파일을 쓴 시각 순으로 색인에 올린다
+            List<Path> files;
+            try (Stream<Path> listed = Files.list(diskDir)) {
+                files = listed.toList();
+            }
+            List<Map.Entry<String, DiskEntry>> found = new ArrayList<>();
+            for (Path file : files) {
+                if (file.toString().endsWith(".tmp")) {
+                    deleteQuietly(file);
+                    continue;
+                }
+                try {
+                    found.add(Map.entry(file.getFileName().toString(),
+                            new DiskEntry(Files.size(file), Files.getLastModifiedTime(file).toMillis())));
+                } catch (IOException e) {
+                    deleteQuietly(file);
+                }
+            }
+            found.sort(Comparator.comparingLong(entry -> entry.getValue().writtenAt));
+
+            synchronized (this) {
+                for (Map.Entry<String, DiskEntry> entry : found) {
+                    disk.put(entry.getKey(), entry.getValue());
+                    diskBytes += entry.getValue().bytes;
+                }
+                trimDisk(System.currentTimeMillis());
+            }
+            System.out.println("LLM 캐시 디스크 계층 사용: " + diskDir.toAbsolutePath() + " (" + disk.size() + "건)");
+
+        } catch (IOException e) {
+            throw new IllegalStateException("LLM 캐시 디렉토리를 사용할 수 없습니다: " + diskDir, e);
+        }
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ignored) {
+        }
+    }
+
+    private static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record DiskEntry(long bytes, long writtenAt) {
+    }
+
+    private static class Entry {
+        private final String value;
+        private final long expiresAt;
+        private final long bytes;
+
+        Entry(String value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+            this.bytes = (long) value.length() * Character.BYTES;
+        }
+    }
+}
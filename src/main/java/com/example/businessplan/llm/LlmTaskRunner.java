@@ -0,0 +1,80 @@
+package com.example.businessplan.llm;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+@Component
+public class LlmTaskRunner {
+
+    private final ExecutorService llmExecutor;
+
+    public LlmTaskRunner(@Qualifier("llmExecutor") ExecutorService llmExecutor) {
+        this.llmExecutor = llmExecutor;
+    }
+
+    /**
+     * 여러 LLM 호출을 동시에 실행하고 모두 끝날 때까지 기다린다.
+     * 하나라도 실패하면 나머지 호출은 취소(interrupt)하고 첫 번째 예외를 그대로 던진다.
+     * 결과는 입력한 키 순서대로 반환된다.
+     */
+    public <K, V> Map<K, V> invokeAll(Map<K, Callable<V>> tasks) {
+        ExecutorCompletionService<V> completion = new ExecutorCompletionService<>(llmExecutor);
+        Map<Future<V>, K> keysByFuture = new HashMap<>();
+        List<Future<V>> futures = new ArrayList<>();
+        Map<K, V> completed = new HashMap<>();
+
+        try {
+            for (Map.Entry<K, Callable<V>> entry : tasks.entrySet()) {
+                Future<V> future = completion.submit(entry.getValue());
+                futures.add(future);
+                keysByFuture.put(future, entry.getKey());
+            }
+
+            for (int i = 0; i < futures.size(); i++) {
+                Future<V> done = completion.take();
+                completed.put(keysByFuture.get(done), done.get());
+            }
+
+        } catch (ExecutionException e) {
+            cancelAll(futures);
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new RuntimeException(cause.getMessage(), cause);
+
+        } catch (InterruptedException e) {
+            cancelAll(futures);
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("LLM 호출이 중단되었습니다", e);
+
+        } catch (RuntimeException e) {
+            // 풀 포화(RejectedExecutionException) 등 제출 단계 실패
+            cancelAll(futures);
+            throw e;
+        }
+
+        Map<K, V> results = new LinkedHashMap<>();
+        for (K key : tasks.keySet()) {
+            results.put(key, completed.get(key));
+        }
+        return results;
+    }
+
+    private <V> void cancelAll(List<Future<V>> futures) {
+        for (Future<V> future : futures) {
+            future.cancel(true);
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.businessplan.llm;
+
+public class LlmUnavailableException extends RuntimeException {
+
+    public LlmUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.businessplan.llm;
+
+import com.theokanning.openai.Usage;
+import com.theokanning.openai.completion.chat.ChatCompletionRequest;
+import com.theokanning.openai.completion.chat.ChatCompletionResult;
+import com.theokanning.openai.completion.chat.ChatMessage;
+import com.theokanning.openai.service.OpenAiService;
+import io.reactivex.Flowable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConditionalOnProperty(name = "llm.backend", havingValue = "openai", matchIfMissing = true)
+public class OpenAiLlmClient implements LlmClient {
+
+    private final OpenAiService openAiService;
+
+    // 소켓 타임아웃은 호출별 타임아웃(LlmResilience)보다 길게 두는 안전망
+    public OpenAiLlmClient(@Value("${openai.api-key}") String apiKey,
+                           @Value("${openai.timeout-seconds:90}") long timeoutSeconds) {
+        this.openAiService = new OpenAiService(apiKey, Duration.ofSeconds(timeoutSeconds));
+        System.out.println("✅ OpenAI 서비스 초기화 성공!");
+    }
+
+    @Override
+    public LlmResponse complete(ChatCompletionRequest request) {
+        ChatCompletionResult result = openAiService.createChatCompletion(request);
+        Usage usage = result.getUsage();
+
+        return new LlmResponse(
+                result.getChoices().get(0).getMessage().getContent(),
+                result.getModel() != null ? result.getModel() : request.getModel(),
+                usage != null ? usage.getPromptTokens() : 0,
+                usage != null ? usage.getCompletionTokens() : 0);
+    }
+
+    @Override
+    public Flowable<String> stream(ChatCompletionRequest request) {
+        return openAiService.streamChatCompletion(request)
+                .filter(chunk -> chunk.getChoices() != null && !chunk.getChoices().isEmpty())
+                .map(chunk -> {
+                    ChatMessage delta = chunk.getChoices().get(0).getMessage();
+                    return delta != null && delta.getContent() != null ? delta.getContent() : "";
+                })
+                .filter(token -> !token.isEmpty());
+    }
+}
@@ -2,10 +2,23 @@ package com.example.businessplan.repository;
 
 import com.example.businessplan.entity.Answer;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
 
 @Repository
 public interface AnswerRepository extends JpaRepository<Answer, Long> {
-    List<Answer> findByQuestionProjectId(Long projectId);
-}
\ No newline at end of file
+    // 질문을 같은 SELECT에서 함께 읽는다 (답변마다 질문을 따로 조회하지 않게)
+    @Query("select a from Answer a join fetch a.question q " +
+            "where q.project.id = :projectId " +
+            "order by q.section, q.orderNum, q.id")
+    List<Answer> findWithQuestionByProjectId(@Param("projectId") Long projectId);
+
+    @Transactional
+    @Modifying
+    @Query("update Answer a set a.aiGeneratedText = :text where a.id = :id")
+    int updateAiGeneratedText(@Param("id") Long id, @Param("text") String text);
+}
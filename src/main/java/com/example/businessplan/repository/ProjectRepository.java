@@ -1,9 +1,69 @@
 package com.example.businessplan.repository;
 
 import com.example.businessplan.entity.Project;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface ProjectRepository extends JpaRepository<Project, Long> {
-}
\ No newline at end of file
+    String SUMMARY_SELECT = "select new com.example.businessplan.repository.ProjectSummary(" +
+            "p.id, p.communityName, p.projectName, p.projectPeriod, p.projectLocation, " +
+            "p.totalBudget, p.provincialFund, p.cityFund, p.selfFund, p.status, p.createdAt, p.updatedAt) " +
+            "from Project p ";
+
+    // status/community가 null이면 해당 조건은 무시. community는 앞부분 일치 (인덱스를 탈 수 있게)
+    String SUMMARY_FILTER = "where (:status is null or p.status = :status) " +
+            "and (:community is null or p.communityName like concat(:community, '%')) ";
+
+    List<Project> findByStatusIn(Collection<String> statuses);
+
+    // 본문(ProjectContent)까지 한 번에 읽는다. 생성/다운로드/상세 조회처럼 본문을 쓰는 곳에서만 사용
+    @EntityGraph(attributePaths = "content")
+    Optional<Project> findWithContentById(Long id);
+
+    // 페이지 번호 방식 목록 (정렬은 pageable로)
+    @Query(value = SUMMARY_SELECT + SUMMARY_FILTER,
+            countQuery = "select count(p) from Project p " + SUMMARY_FILTER)
+    Page<ProjectSummary> findSummaries(@Param("status") String status,
+                                       @Param("community") String community,
+                                       Pageable pageable);
+
+    // 커서(keyset) 방식 목록: (createdAt, id) 최신순. 첫 페이지와 커서 다음 페이지를 따로 두어
+    // 커서 조건이 (created_at, id) 인덱스 범위 검색이 되게 한다. 페이지가 뒤로 가도 앞 행을 건너뛰며 읽지 않는다
+    @Query(SUMMARY_SELECT + SUMMARY_FILTER + "order by p.createdAt desc, p.id desc")
+    List<ProjectSummary> findLatestSummaries(@Param("status") String status,
+                                             @Param("community") String community,
+                                             Pageable pageable);
+
+    @Query(SUMMARY_SELECT + SUMMARY_FILTER +
+            "and (p.createdAt, p.id) < (:createdAt, :id) " +
+            "order by p.createdAt desc, p.id desc")
+    List<ProjectSummary> findSummariesBefore(@Param("status") String status,
+                                             @Param("community") String community,
+                                             @Param("createdAt") LocalDateTime createdAt,
+                                             @Param("id") Long id,
+                                             Pageable pageable);
+
+    // 일괄 내보내기 대상 ID (본문 TEXT 컬럼은 읽지 않음). filterIds/filterStatuses가 false면 해당 조건은 무시
+    @Query("select p.id from Project p " +
+            "where (:filterIds = false or p.id in :ids) " +
+            "and (:filterStatuses = false or p.status in :statuses) " +
+            "and p.createdAt >= :from and p.createdAt < :to " +
+            "order by p.id")
+    List<Long> findIdsForExport(@Param("filterIds") boolean filterIds,
+                                @Param("ids") Collection<Long> ids,
+                                @Param("filterStatuses") boolean filterStatuses,
+                                @Param("statuses") Collection<String> statuses,
+                                @Param("from") LocalDateTime from,
+                                @Param("to") LocalDateTime to);
+}
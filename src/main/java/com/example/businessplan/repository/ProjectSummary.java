@@ -0,0 +1,21 @@
+package com.example.businessplan.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * 목록 화면용 프로젝트 요약. 본문 TEXT 컬럼(사업비 내역, 세부계획 등)은 조회하지 않는다.
+ */
+public record ProjectSummary(
+        Long id,
+        String communityName,
+        String projectName,
+        String projectPeriod,
+        String projectLocation,
+        Long totalBudget,
+        Long provincialFund,
+        Long cityFund,
+        Long selfFund,
+        String status,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt) {
+}
@@ -0,0 +1,132 @@
+package com.example.businessplan.service;
+
+import com.example.businessplan.entity.Answer;
+import com.example.businessplan.job.ProgressListener;
+import com.example.businessplan.llm.LlmRateLimiter;
+import com.example.businessplan.repository.AnswerRepository;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Service
+public class AnswerExpansionService {
+
+    // expandAnswer 요청의 maxTokens
+    private static final int EXPANSION_MAX_TOKENS = 500;
+    // 프롬프트 고정 문구 분량 (한글은 대략 글자당 1토큰으로 추정)
+    private static final int PROMPT_OVERHEAD_TOKENS = 200;
+
+    private final AnswerRepository answerRepository;
+    private final GptService gptService;
+    private final LlmRateLimiter rateLimiter;
+    private final ExecutorService llmExecutor;
+    private final int concurrency;
+
+    public AnswerExpansionService(AnswerRepository answerRepository,
+                                  GptService gptService,
+                                  LlmRateLimiter rateLimiter,
+                                  @Qualifier("llmExecutor") ExecutorService llmExecutor,
+                                  @Value("${llm.expansion.concurrency:4}") int concurrency) {
+        this.answerRepository = answerRepository;
+        this.gptService = gptService;
+        this.rateLimiter = rateLimiter;
+        this.llmExecutor = llmExecutor;
+        this.concurrency = Math.max(1, concurrency);
+    }
+
+    public record ExpansionTask(Long answerId, String questionText, String userAnswer, String section) {
+    }
+
+    @Transactional(readOnly = true)
+    public List<ExpansionTask> findPendingExpansions(Long projectId) {
+        List<ExpansionTask> tasks = new ArrayList<>();
+
+        for (Answer answer : answerRepository.findWithQuestionByProjectId(projectId)) {
+            if (answer.getAiGeneratedText() == null) {
+                tasks.add(new ExpansionTask(
+                        answer.getId(),
+                        answer.getQuestion().getQuestionText(),
+                        answer.getUserAnswer(),
+                        answer.getQuestion().getSection()));
+            }
+        }
+        return tasks;
+    }
+
+    /**
+     * 답변들을 최대 concurrency개씩 동시에 확장한다.
+     * 확장된 답변은 끝나는 즉시 개별 커밋되므로 일부가 실패해도 완료된 답변은 남는다.
+     */
+    public void expandAll(List<ExpansionTask> tasks, ProgressListener progress) {
+        if (tasks.isEmpty()) return;
+
+        Semaphore permits = new Semaphore(concurrency);
+        AtomicInteger done = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+
+        try {
+            for (ExpansionTask task : tasks) {
+                permits.acquire();
+                try {
+                    futures.add(llmExecutor.submit(() -> {
+                        try {
+                            expandOne(task);
+                        } finally {
+                            permits.release();
+                            int count = done.incrementAndGet();
+                            progress.onProgress(count * 100 / tasks.size(),
+                                    "답변 확장 " + count + "/" + tasks.size());
+                        }
+                        return null;
+                    }));
+                } catch (RuntimeException e) {
+                    permits.release();
+                    throw e;
+                }
+            }
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("답변 확장이 중단되었습니다", e);
+        }
+
+        List<String> failures = new ArrayList<>();
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                failures.add(e.getCause().getMessage());
+            } catch (InterruptedException e) {
+                futures.forEach(f -> f.cancel(true));
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("답변 확장이 중단되었습니다", e);
+            }
+        }
+
+        if (!failures.isEmpty()) {
+            throw new RuntimeException(String.format("%d/%d건 확장 실패 (완료된 답변은 저장됨): %s",
+                    failures.size(), tasks.size(), failures.get(0)));
+        }
+    }
+
+    private void expandOne(ExpansionTask task) throws InterruptedException {
+        long promptChars = length(task.questionText()) + length(task.userAnswer()) + length(task.section());
+        rateLimiter.acquire(promptChars + PROMPT_OVERHEAD_TOKENS + EXPANSION_MAX_TOKENS);
+
+        String expanded = gptService.expandAnswer(task.questionText(), task.userAnswer(), task.section());
+        answerRepository.updateAiGeneratedText(task.answerId(), expanded);
+    }
+
+    private int length(String value) {
+        return value != null ? value.length() : 0;
+    }
+}
@@ -0,0 +1,346 @@
+package com.example.businessplan.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 사업비 산출내역 표.
+ * 행마다 Map을 만들지 않고 열별 배열(long[]/String[])로 들고, 합계는 행을 추가/수정할 때 함께 갱신한다.
+ *
+ * JSON 형식은 기존과 같다:
+ * {"items":[{"subProject","budgetItem","calculation","amount","provincialFund","cityFund","selfFund"}...],
+ *  "totalAmount","totalProvincial","totalCity","totalSelf","itemCount"}
+ * 항목에 위 필드 외의 키가 있으면 행별 extras에 그대로 보관했다가 같은 항목에 다시 써 준다.
+ */
+@JsonSerialize(using = BudgetTable.Serializer.class)
+@JsonDeserialize(using = BudgetTable.Deserializer.class)
+public final class BudgetTable {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private int size;
+    private String[] subProjects;
+    private String[] budgetItems;
+    private String[] calculations;
+    private long[] amounts;
+    private long[] provincialFunds;
+    private long[] cityFunds;
+    private long[] selfFunds;
+    // 알 수 없는 키가 있는 행만 채운다 (한 번도 없으면 null)
+    private Map<String, Object>[] extras;
+
+    private long totalAmount;
+    private long totalProvincial;
+    private long totalCity;
+    private long totalSelf;
+
+    public BudgetTable() {
+        this(16);
+    }
+
+    public BudgetTable(int capacity) {
+        int initial = Math.max(1, capacity);
+        subProjects = new String[initial];
+        budgetItems = new String[initial];
+        calculations = new String[initial];
+        amounts = new long[initial];
+        provincialFunds = new long[initial];
+        cityFunds = new long[initial];
+        selfFunds = new long[initial];
+    }
+
+    public static BudgetTable fromJson(String json) throws IOException {
+        return OBJECT_MAPPER.readValue(json, BudgetTable.class);
+    }
+
+    public String toJson() throws IOException {
+        return OBJECT_MAPPER.writeValueAsString(this);
+    }
+
+    public void add(String subProject, String budgetItem, String calculation,
+                    long amount, long provincialFund, long cityFund, long selfFund) {
+        if (size == amounts.length) {
+            grow();
+        }
+
+        subProjects[size] = subProject;
+        budgetItems[size] = budgetItem;
+        calculations[size] = calculation;
+        amounts[size] = amount;
+        provincialFunds[size] = provincialFund;
+        cityFunds[size] = cityFund;
+        selfFunds[size] = selfFund;
+        size++;
+
+        totalAmount += amount;
+        totalProvincial += provincialFund;
+        totalCity += cityFund;
+        totalSelf += selfFund;
+    }
+
+    // 금액/산출근거를 고친다 (합계도 차이만큼 갱신)
+    public void update(int row, String calculation, long amount, long provincialFund, long cityFund) {
+        checkIndex(row);
+
+        totalAmount += amount - amounts[row];
+        totalProvincial += provincialFund - provincialFunds[row];
+        totalCity += cityFund - cityFunds[row];
+
+        calculations[row] = calculation;
+        amounts[row] = amount;
+        provincialFunds[row] = provincialFund;
+        cityFunds[row] = cityFund;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public String subProject(int row) {
+        checkIndex(row);
+        return subProjects[row];
+    }
+
+    public String budgetItem(int row) {
+        checkIndex(row);
+        return budgetItems[row];
+    }
+
+    public String calculation(int row) {
+        checkIndex(row);
+        return calculations[row];
+    }
+
+    public long amount(int row) {
+        checkIndex(row);
+        return amounts[row];
+    }
+
+    public long provincialFund(int row) {
+        checkIndex(row);
+        return provincialFunds[row];
+    }
+
+    public long cityFund(int row) {
+        checkIndex(row);
+        return cityFunds[row];
+    }
+
+    public long selfFund(int row) {
+        checkIndex(row);
+        return selfFunds[row];
+    }
+
+    public Map<String, Object> extras(int row) {
+        checkIndex(row);
+        return extras == null || extras[row] == null ? Map.of() : Collections.unmodifiableMap(extras[row]);
+    }
+
+    @SuppressWarnings("unchecked")
+    void putExtras(int row, Map<String, Object> values) {
+        checkIndex(row);
+        if (values.isEmpty()) return;
+        if (extras == null) {
+            extras = new Map[amounts.length];
+        }
+        extras[row] = values;
+    }
+
+    public long totalAmount() {
+        return totalAmount;
+    }
+
+    public long totalProvincial() {
+        return totalProvincial;
+    }
+
+    public long totalCity() {
+        return totalCity;
+    }
+
+    public long totalSelf() {
+        return totalSelf;
+    }
+
+    // 합계 없이 items 배열만 필요한 응답용
+    public Items items() {
+        return new Items(this);
+    }
+
+    private void grow() {
+        int capacity = amounts.length + (amounts.length >> 1) + 1;
+        subProjects = Arrays.copyOf(subProjects, capacity);
+        budgetItems = Arrays.copyOf(budgetItems, capacity);
+        calculations = Arrays.copyOf(calculations, capacity);
+        amounts = Arrays.copyOf(amounts, capacity);
+        provincialFunds = Arrays.copyOf(provincialFunds, capacity);
+        cityFunds = Arrays.copyOf(cityFunds, capacity);
+        selfFunds = Arrays.copyOf(selfFunds, capacity);
+        if (extras != null) {
+            extras = Arrays.copyOf(extras, capacity);
+        }
+    }
+
+    private void checkIndex(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("사업비 항목 " + row + " (전체 " + size + "개)");
+        }
+    }
+
+    @JsonSerialize(using = ItemsSerializer.class)
+    public record Items(BudgetTable table) {
+    }
+
+    static class Serializer extends JsonSerializer<BudgetTable> {
+        @Override
+        public void serialize(BudgetTable table, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject();
+            gen.writeFieldName("items");
+            writeItems(table, gen, provider);
+            gen.writeNumberField("totalAmount", table.totalAmount);
+            gen.writeNumberField("totalProvincial", table.totalProvincial);
+            gen.writeNumberField("totalCity", table.totalCity);
+            gen.writeNumberField("totalSelf", table.totalSelf);
+            gen.writeNumberField("itemCount", table.size);
+            gen.writeEndObject();
+        }
+    }
+
+    static class ItemsSerializer extends JsonSerializer<Items> {
+        @Override
+        public void serialize(Items items, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            writeItems(items.table(), gen, provider);
+        }
+    }
+
+    private static void writeItems(BudgetTable table, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartArray();
+        for (int i = 0; i < table.size; i++) {
+            gen.writeStartObject();
+            gen.writeStringField("subProject", table.subProjects[i]);
+            gen.writeStringField("budgetItem", table.budgetItems[i]);
+            gen.writeStringField("calculation", table.calculations[i]);
+            gen.writeNumberField("amount", table.amounts[i]);
+            gen.writeNumberField("provincialFund", table.provincialFunds[i]);
+            gen.writeNumberField("cityFund", table.cityFunds[i]);
+            gen.writeNumberField("selfFund", table.selfFunds[i]);
+            if (table.extras != null && table.extras[i] != null) {
+                for (Map.Entry<String, Object> extra : table.extras[i].entrySet()) {
+                    provider.defaultSerializeField(extra.getKey(), extra.getValue(), gen);
+                }
+            }
+            gen.writeEndObject();
+        }
+        gen.writeEndArray();
+    }
+
+    // {"items":[...], ...} 또는 items 배열만 받아도 읽는다. 합계는 저장된 값 대신 항목에서 다시 계산한다.
+    static class Deserializer extends JsonDeserializer<BudgetTable> {
+        @Override
+        public BudgetTable deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            BudgetTable table = new BudgetTable();
+
+            if (p.currentToken() == JsonToken.START_ARRAY) {
+                readItems(p, ctxt, table);
+                return table;
+            }
+
+            if (p.currentToken() != JsonToken.START_OBJECT) {
+                return (BudgetTable) ctxt.handleUnexpectedToken(BudgetTable.class, p);
+            }
+
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.currentName();
+                p.nextToken();
+                if ("items".equals(field) && p.currentToken() == JsonToken.START_ARRAY) {
+                    readItems(p, ctxt, table);
+                } else {
+                    p.skipChildren();
+                }
+            }
+            return table;
+        }
+
+        private void readItems(JsonParser p, DeserializationContext ctxt, BudgetTable table) throws IOException {
+            while (p.nextToken() != JsonToken.END_ARRAY) {
+                if (p.currentToken() != JsonToken.START_OBJECT) {
+                    p.skipChildren();
+                    continue;
+                }
+
+                String subProject = null;
+                String budgetItem = null;
+                String calculation = null;
+                long amount = 0;
+                long provincialFund = 0;
+                long cityFund = 0;
+                long selfFund = 0;
+                Map<String, Object> extra = null;
+
+                while (p.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = p.currentName();
+                    p.nextToken();
+                    switch (field) {
+                        case "subProject" -> subProject = readText(p);
+                        case "budgetItem" -> budgetItem = readText(p);
+                        case "calculation" -> calculation = readText(p);
+                        case "amount" -> amount = readLong(p);
+                        case "provincialFund" -> provincialFund = readLong(p);
+                        case "cityFund" -> cityFund = readLong(p);
+                        case "selfFund" -> selfFund = readLong(p);
+                        default -> {
+                            if (extra == null) {
+                                extra = new LinkedHashMap<>();
+                            }
+                            extra.put(field, ctxt.readValue(p, Object.class));
+                        }
+                    }
+                }
+
+                table.add(subProject, budgetItem, calculation, amount, provincialFund, cityFund, selfFund);
+                if (extra != null) {
+                    table.putExtras(table.size - 1, extra);
+                }
+            }
+        }
+
+        private String readText(JsonParser p) throws IOException {
+            JsonToken token = p.currentToken();
+            if (token == JsonToken.VALUE_NULL) return null;
+            if (token.isScalarValue()) return p.getText();
+            p.skipChildren();
+            return null;
+        }
+
+        // 숫자 또는 숫자 문자열, 그 밖에는 0 (기존 getLong과 같은 규칙)
+        private long readLong(JsonParser p) throws IOException {
+            JsonToken token = p.currentToken();
+            if (token.isNumeric()) {
+                return p.getValueAsLong();
+            }
+            if (token == JsonToken.VALUE_STRING) {
+                try {
+                    return Long.parseLong(p.getText().trim());
+                } catch (NumberFormatException e) {
+                    return 0L;
+                }
+            }
+            p.skipChildren();
+            return 0L;
+        }
+    }
+}
@@ -1,20 +1,131 @@
 package com.example.businessplan.service;
 
 import com.example.businessplan.entity.Project;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import org.apache.poi.xwpf.usermodel.*;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
 import org.springframework.stereotype.Service;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.util.List;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.HashMap;
 import java.util.Map;
 
 @Service
 public class DocumentGenerationService {
 
+    private final ObservationRegistry observationRegistry;
+    private final String docxMode;
+    private final DocxTemplate template;
+
+    public DocumentGenerationService(ObservationRegistry observationRegistry,
+                                     ResourceLoader resourceLoader,
+                                     @Value("${document.docx.mode:template}") String docxMode,
+                                     @Value("${document.template.location:classpath:templates/business-plan.docx}") String templateLocation) {
+        this.observationRegistry = observationRegistry;
+        this.docxMode = docxMode;
+        this.template = "builder".equals(docxMode) ? null : loadTemplate(resourceLoader.getResource(templateLocation));
+    }
+
+    private static DocxTemplate loadTemplate(Resource resource) {
+        try (InputStream in = resource.getInputStream()) {
+            DocxTemplate template = DocxTemplate.load(in);
+            System.out.println("사업계획서 양식 로드: " + resource.getDescription());
+            return template;
+        } catch (IOException e) {
+            throw new IllegalStateException("사업계획서 양식을 읽을 수 없습니다: " + resource.getDescription(), e);
+        }
+    }
+
     public byte[] generateDocx(Project project) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writeDocx(project, out);
+        return out.toByteArray();
+    }
+
+    // 응답 스트림 등에 바로 쓴다 (out은 닫지 않음)
+    public void writeDocx(Project project, OutputStream out) throws IOException {
+        Observation.createNotStarted("document.render", observationRegistry)
+                .lowCardinalityKeyValue("format", "docx")
+                .lowCardinalityKeyValue("mode", docxMode)
+                .observeChecked(() -> {
+                    XWPFDocument document = template != null ? fillTemplate(project) : buildDocx(project);
+                    try (document) {
+                        document.write(out);
+                    }
+                    return null;
+                });
+    }
+
+    // 양식 복사본에 값만 채운다 (글꼴/크기/표 모양은 양식의 스타일을 따름)
+    private XWPFDocument fillTemplate(Project project) {
+        Map<String, String> values = new HashMap<>();
+        values.put("communityName", project.getCommunityName());
+        values.put("projectName", project.getProjectName());
+        values.put("projectPeriod", project.getProjectPeriod());
+        values.put("projectLocation", project.getProjectLocation());
+        values.put("budgetSummary", budgetSummary(project));
+        values.put("detailedPlan", project.getDetailedPlan());
+        values.put("monthlyPlan", project.getMonthlyPlan());
+        values.put("expectedEffect", project.getExpectedEffect());
+
+        Map<String, DocxTemplate.Rows> rows = new HashMap<>();
+        if (project.getBudgetDetails() != null && !project.getBudgetDetails().isEmpty()) {
+            try {
+                BudgetTable budget = BudgetTable.fromJson(project.getBudgetDetails());
+                rows.put("items", budgetRows(budget));
+                values.put("totalAmount", String.format("%,d", budget.totalAmount()));
+                values.put("totalProvincial", String.format("%,d", budget.totalProvincial()));
+                values.put("totalCity", String.format("%,d", budget.totalCity()));
+                values.put("totalSelf", String.format("%,d", budget.totalSelf()));
+            } catch (Exception e) {
+                System.err.println("사업비 표 추가 실패: " + e.getMessage());
+            }
+        }
+
+        return template.render(values, rows);
+    }
+
+    private static DocxTemplate.Rows budgetRows(BudgetTable budget) {
+        return new DocxTemplate.Rows() {
+            @Override
+            public int size() {
+                return budget.size();
+            }
+
+            @Override
+            public String get(int row, String field) {
+                return switch (field) {
+                    case "subProject" -> budget.subProject(row);
+                    case "budgetItem" -> budget.budgetItem(row);
+                    case "calculation" -> budget.calculation(row);
+                    case "amount" -> String.format("%,d", budget.amount(row));
+                    case "provincialFund" -> String.format("%,d", budget.provincialFund(row));
+                    case "cityFund" -> String.format("%,d", budget.cityFund(row));
+                    case "selfFund" -> String.format("%,d", budget.selfFund(row));
+                    default -> "";
+                };
+            }
+        };
+    }
+
+    private static String budgetSummary(Project project) {
+        return String.format(
+                "총 %,d천원 (도비 %,d, 시군비 %,d, 자부담 %,d)",
+                project.getTotalBudget(),
+                project.getProvincialFund(),
+                project.getCityFund(),
+                project.getSelfFund()
+        );
+    }
+
+    // 기존 방식: 문단/표/글꼴을 코드로 하나씩 만든다 (document.docx.mode=builder)
+    private XWPFDocument buildDocx(Project project) {
         XWPFDocument document = new XWPFDocument();
 
         XWPFParagraph titlePara = document.createParagraph();
@@ -32,25 +143,13 @@ public class DocumentGenerationService {
         addTableRow(document, "사업기간", project.getProjectPeriod());
         addTableRow(document, "사업위치", project.getProjectLocation());
 
-        String budgetInfo = String.format(
-                "총 %,d천원 (도비 %,d, 시군비 %,d, 자부담 %,d)",
-                project.getTotalBudget(),
-                project.getProvincialFund(),
-                project.getCityFund(),
-                project.getSelfFund()
-        );
-        addTableRow(document, "사업비", budgetInfo);
+        addTableRow(document, "사업비", budgetSummary(project));
         addEmptyLine(document);
 
         if (project.getBudgetDetails() != null && !project.getBudgetDetails().isEmpty()) {
             try {
                 addSectionTitle(document, "사업비 산출내역");
-                ObjectMapper mapper = new ObjectMapper();
-                Map<String, Object> budgetData = mapper.readValue(
-                        project.getBudgetDetails(),
-                        new TypeReference<Map<String, Object>>() {}
-                );
-                addBudgetTable(document, budgetData);
+                addBudgetTable(document, BudgetTable.fromJson(project.getBudgetDetails()));
                 addEmptyLine(document);
             } catch (Exception e) {
                 System.err.println("사업비 표 추가 실패: " + e.getMessage());
@@ -74,17 +173,11 @@ public class DocumentGenerationService {
             addContent(document, project.getExpectedEffect());
         }
 
-        ByteArrayOutputStream out = new ByteArrayOutputStream();
-        document.write(out);
-        document.close();
-
-        return out.toByteArray();
+        return document;
     }
 
-    private void addBudgetTable(XWPFDocument document, Map<String, Object> budgetData) {
-        List<Map<String, Object>> items = (List<Map<String, Object>>) budgetData.get("items");
-
-        XWPFTable table = document.createTable(items.size() + 2, 7);
+    private void addBudgetTable(XWPFDocument document, BudgetTable budget) {
+        XWPFTable table = document.createTable(budget.size() + 2, 7);
         table.setWidth("100%");
 
         XWPFTableRow headerRow = table.getRow(0);
@@ -102,20 +195,19 @@ public class DocumentGenerationService {
             run.setFontFamily("맑은 고딕");
         }
 
-        for (int i = 0; i < items.size(); i++) {
-            Map<String, Object> item = items.get(i);
+        for (int i = 0; i < budget.size(); i++) {
             XWPFTableRow row = table.getRow(i + 1);
 
-            setCellText(row.getCell(0), (String) item.get("subProject"), false);
-            setCellText(row.getCell(1), (String) item.get("budgetItem"), false);
-            setCellText(row.getCell(2), (String) item.get("calculation"), false);
-            setCellText(row.getCell(3), String.format("%,d", getLong(item.get("amount"))), true);
-            setCellText(row.getCell(4), String.format("%,d", getLong(item.get("provincialFund"))), true);
-            setCellText(row.getCell(5), String.format("%,d", getLong(item.get("cityFund"))), true);
-            setCellText(row.getCell(6), String.format("%,d", getLong(item.get("selfFund"))), true);
+            setCellText(row.getCell(0), budget.subProject(i), false);
+            setCellText(row.getCell(1), budget.budgetItem(i), false);
+            setCellText(row.getCell(2), budget.calculation(i), false);
+            setCellText(row.getCell(3), String.format("%,d", budget.amount(i)), true);
+            setCellText(row.getCell(4), String.format("%,d", budget.provincialFund(i)), true);
+            setCellText(row.getCell(5), String.format("%,d", budget.cityFund(i)), true);
+            setCellText(row.getCell(6), String.format("%,d", budget.selfFund(i)), true);
         }
 
-        XWPFTableRow totalRow = table.getRow(items.size() + 1);
+        XWPFTableRow totalRow = table.getRow(budget.size() + 1);
         XWPFTableCell totalCell = totalRow.getCell(0);
         totalCell.setColor("F8F9FA");
         setCellText(totalCell, "합계", false, true);
@@ -123,10 +215,10 @@ public class DocumentGenerationService {
         totalRow.getCell(1).setColor("F8F9FA");
         totalRow.getCell(2).setColor("F8F9FA");
 
-        setCellText(totalRow.getCell(3), String.format("%,d", budgetData.get("totalAmount")), true, true);
-        setCellText(totalRow.getCell(4), String.format("%,d", budgetData.get("totalProvincial")), true, true);
-        setCellText(totalRow.getCell(5), String.format("%,d", budgetData.get("totalCity")), true, true);
-        setCellText(totalRow.getCell(6), String.format("%,d", budgetData.get("totalSelf")), true, true);
+        setCellText(totalRow.getCell(3), String.format("%,d", budget.totalAmount()), true, true);
+        setCellText(totalRow.getCell(4), String.format("%,d", budget.totalProvincial()), true, true);
+        setCellText(totalRow.getCell(5), String.format("%,d", budget.totalCity()), true, true);
+        setCellText(totalRow.getCell(6), String.format("%,d", budget.totalSelf()), true, true);
     }
 
     private void setCellText(XWPFTableCell cell, String text, boolean rightAlign) {
@@ -147,20 +239,6 @@ public class DocumentGenerationService {
         }
     }
 
-    private long getLong(Object value) {
-        if (value == null) return 0L;
-
-        if (value instanceof Number) {
-            return ((Number) value).longValue();
-        }
-
-        try {
-            return Long.parseLong(value.toString());
-        } catch (NumberFormatException e) {
-            return 0L;
-        }
-    }
-
     private void addSectionTitle(XWPFDocument document, String title) {
         XWPFParagraph para = document.createParagraph();
         XWPFRun run = para.createRun();
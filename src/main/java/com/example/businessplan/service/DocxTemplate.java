@@ -0,0 +1,254 @@
+package com.example.businessplan.service;
+
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+import org.apache.xmlbeans.XmlCursor;
+import org.apache.xmlbeans.XmlException;
+import org.apache.xmlbeans.XmlObject;
+import org.apache.xmlbeans.impl.xb.xmlschema.SpaceAttribute;
+import org.openxmlformats.schemas.wordprocessingml.x2006.main.CTBody;
+import org.openxmlformats.schemas.wordprocessingml.x2006.main.CTP;
+import org.openxmlformats.schemas.wordprocessingml.x2006.main.CTRow;
+import org.openxmlformats.schemas.wordprocessingml.x2006.main.CTStyles;
+import org.openxmlformats.schemas.wordprocessingml.x2006.main.CTTbl;
+import org.openxmlformats.schemas.wordprocessingml.x2006.main.CTText;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * .docx 양식 파일. 시작할 때 한 번 읽어 본문/스타일 XML만 들고 있다가 요청마다 복사해서 채운다.
+ *
+ * - {{name}}: 값으로 바꾼다. 문단 전체가 자리표시자이고 값이 여러 줄이면 줄마다 문단을 복제한다.
+ * - {{#name}} ... {{/name}}: (각각 한 문단) 값이나 표 데이터가 없으면 사이 내용을 통째로 지운다.
+ * - {{rows.field}}: 이 자리표시자가 들어 있는 표의 행을 rows의 행 수만큼 복제해서 채운다.
+ *
+ * 양식에서는 머리글/바닥글, 그림, 번호 매기기는 쓰지 않는다 (본문과 스타일만 복사함).
+ */
+final class DocxTemplate {
+
+    interface Rows {
+        int size();
+
+        String get(int row, String field);
+    }
+
+    private static final String W_NS = "declare namespace w='http://schemas.openxmlformats.org/wordprocessingml/2006/main' ";
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\{\\{([\\w.]+)}}");
+    private static final Pattern BLOCK_MARKER = Pattern.compile("\\{\\{([#/])(\\w+)}}");
+
+    private final CTBody body;
+    private final CTStyles styles;
+
+    private DocxTemplate(CTBody body, CTStyles styles) {
+        this.body = body;
+        this.styles = styles;
+    }
+
+    static DocxTemplate load(InputStream in) throws IOException {
+        try (XWPFDocument template = new XWPFDocument(in)) {
+            CTBody body = (CTBody) template.getDocument().getBody().copy();
+            CTStyles styles = template.getStyle() != null ? (CTStyles) template.getStyle().copy() : null;
+
+            // Word가 자리표시자를 여러 run으로 쪼개 놓은 경우를 미리 합쳐 둔다 (요청마다 할 필요 없음)
+            for (CTP paragraph : select(body, "$this//w:p", CTP.class)) {
+                mergeSplitPlaceholders(paragraph);
+            }
+            return new DocxTemplate(body, styles);
+        } catch (XmlException e) {
+            throw new IOException("양식 스타일을 읽을 수 없습니다", e);
+        }
+    }
+
+    // 값이 null이면 해당 블록을 지운다, rows의 키가 없으면 해당 블록을 지운다
+    XWPFDocument render(Map<String, String> values, Map<String, Rows> rows) {
+        XWPFDocument document = new XWPFDocument();
+        if (styles != null) {
+            document.createStyles().setStyles((CTStyles) styles.copy());
+        }
+        document.getDocument().setBody(body);
+
+        CTBody target = document.getDocument().getBody();
+        applyBlocks(target, values, rows);
+        for (Map.Entry<String, Rows> entry : rows.entrySet()) {
+            repeatRows(target, entry.getKey(), entry.getValue());
+        }
+        for (CTP paragraph : select(target, "$this//w:p", CTP.class)) {
+            fill(paragraph, values);
+        }
+        return document;
+    }
+
+    private static void applyBlocks(CTBody body, Map<String, String> values, Map<String, Rows> rows) {
+        List<XmlObject> children = new ArrayList<>();
+        try (XmlCursor cursor = body.newCursor()) {
+            if (cursor.toFirstChild()) {
+                do {
+                    children.add(cursor.getObject());
+                } while (cursor.toNextSibling());
+            }
+        }
+
+        String open = null;
+        boolean keep = true;
+        List<XmlObject> remove = new ArrayList<>();
+
+        for (XmlObject child : children) {
+            Matcher marker = child instanceof CTP paragraph
+                    ? BLOCK_MARKER.matcher(text(paragraph).trim())
+                    : null;
+
+            if (marker != null && marker.matches()) {
+                String name = marker.group(2);
+                if (marker.group(1).equals("#") && open == null) {
+                    open = name;
+                    keep = values.get(name) != null || rows.containsKey(name);
+                } else if (marker.group(1).equals("/") && name.equals(open)) {
+                    open = null;
+                }
+                remove.add(child);
+            } else if (open != null && !keep) {
+                remove.add(child);
+            }
+        }
+
+        for (XmlObject child : remove) {
+            try (XmlCursor cursor = child.newCursor()) {
+                cursor.removeXml();
+            }
+        }
+    }
+
+    private static void repeatRows(CTBody body, String name, Rows rows) {
+        String prefix = "{{" + name + ".";
+
+        for (CTTbl table : select(body, "$this//w:tbl", CTTbl.class)) {
+            List<CTRow> tableRows = table.getTrList();
+            for (int index = 0; index < tableRows.size(); index++) {
+                CTRow template = tableRows.get(index);
+                if (!textOf(template).contains(prefix)) continue;
+
+                for (int row = 0; row < rows.size(); row++) {
+                    CTRow copy = table.insertNewTr(index + row);
+                    copy.set(template);
+                    for (CTText text : select(copy, "$this//w:t", CTText.class)) {
+                        int current = row;
+                        replace(text, key -> key.startsWith(name + ".")
+                                ? rows.get(current, key.substring(name.length() + 1))
+                                : null);
+                    }
+                }
+                table.removeTr(index + rows.size());
+                return;
+            }
+        }
+    }
+
+    private static void fill(CTP paragraph, Map<String, String> values) {
+        String text = text(paragraph);
+        if (!text.contains("{{")) return;
+
+        // 문단 전체가 자리표시자 하나이고 값이 여러 줄이면 줄마다 같은 서식의 문단을 만든다
+        Matcher whole = PLACEHOLDER.matcher(text.trim());
+        String value = whole.matches() ? values.get(whole.group(1)) : null;
+        if (value != null && value.indexOf('\n') >= 0) {
+            String[] lines = value.split("\n", -1);
+            for (int i = 0; i < lines.length - 1; i++) {
+                String line = lines[i];
+                // 원래 문단 바로 앞에 복사본이 들어간다
+                try (XmlCursor source = paragraph.newCursor(); XmlCursor copy = paragraph.newCursor()) {
+                    source.copyXml(copy);
+                    copy.toCursor(source);
+                    copy.toPrevSibling();
+                    for (CTText copyText : select(copy.getObject(), "$this//w:t", CTText.class)) {
+                        replace(copyText, key -> line);
+                    }
+                }
+            }
+            String last = lines[lines.length - 1];
+            for (CTText t : select(paragraph, "$this//w:t", CTText.class)) {
+                replace(t, key -> last);
+            }
+            return;
+        }
+
+        for (CTText t : select(paragraph, "$this//w:t", CTText.class)) {
+            replace(t, values::get);
+        }
+    }
+
+    private static void replace(CTText text, Function<String, String> lookup) {
+        String value = text.getStringValue();
+        if (value == null || !value.contains("{{")) return;
+
+        Matcher matcher = PLACEHOLDER.matcher(value);
+        StringBuilder result = new StringBuilder();
+        while (matcher.find()) {
+            String replacement = lookup.apply(matcher.group(1));
+            matcher.appendReplacement(result, Matcher.quoteReplacement(replacement != null ? replacement : ""));
+        }
+        matcher.appendTail(result);
+
+        String replaced = result.toString();
+        text.setStringValue(replaced);
+        if (!replaced.equals(replaced.strip())) {
+            text.setSpace(SpaceAttribute.Space.PRESERVE);
+        }
+    }
+
+    private static void mergeSplitPlaceholders(CTP paragraph) {
+        List<CTText> texts = select(paragraph, "$this//w:t", CTText.class);
+        if (texts.size() < 2) return;
+
+        String joined = text(texts);
+        if (!joined.contains("{{")) return;
+
+        boolean split = texts.stream()
+                .map(CTText::getStringValue)
+                .anyMatch(value -> count(value, "{{") != count(value, "}}"));
+        if (!split) return;
+
+        // 첫 run 서식으로 문단 글자를 합친다
+        texts.get(0).setStringValue(joined);
+        for (int i = 1; i < texts.size(); i++) {
+            texts.get(i).setStringValue("");
+        }
+    }
+
+    private static String text(CTP paragraph) {
+        return text(select(paragraph, "$this//w:t", CTText.class));
+    }
+
+    private static String textOf(XmlObject object) {
+        return text(select(object, "$this//w:t", CTText.class));
+    }
+
+    private static String text(List<CTText> texts) {
+        StringBuilder builder = new StringBuilder();
+        for (CTText text : texts) {
+            builder.append(text.getStringValue());
+        }
+        return builder.toString();
+    }
+
+    private static int count(String value, String token) {
+        int count = 0;
+        for (int index = value.indexOf(token); index >= 0; index = value.indexOf(token, index + token.length())) {
+            count++;
+        }
+        return count;
+    }
+
+    private static <T> List<T> select(XmlObject object, String path, Class<T> type) {
+        List<T> result = new ArrayList<>();
+        for (XmlObject found : object.selectPath(W_NS + path)) {
+            result.add(type.cast(found));
+        }
+        return result;
+    }
+}
@@ -1,19 +1,89 @@
 package com.example.businessplan.service;
 
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import org.apache.poi.ss.usermodel.*;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.util.List;
-import java.util.Map;
+import java.io.OutputStream;
 
 @Service
 public class ExcelGenerationService {
 
-    public byte[] generateBudgetExcel(Map<String, Object> budgetData) throws IOException {
-        Workbook workbook = new XSSFWorkbook();
+    // SXSSF가 메모리에 들고 있는 행 수 (나머지는 임시 파일로 내보냄)
+    private static final int ROW_WINDOW = 100;
+
+    private static final String[] HEADERS = {"세부사업", "사업비목", "산출근거", "계", "도비(30%)", "시군비(70%)", "자부담"};
+
+    private final ObservationRegistry observationRegistry;
+    private final String exportMode;
+
+    public ExcelGenerationService(ObservationRegistry observationRegistry,
+                                  @Value("${excel.export.mode:streaming}") String exportMode) {
+        this.observationRegistry = observationRegistry;
+        this.exportMode = exportMode;
+    }
+
+    public byte[] generateBudgetExcel(BudgetTable budget) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writeBudgetExcel(budget, out);
+        return out.toByteArray();
+    }
+
+    // 응답 스트림 등에 바로 쓴다 (out은 닫지 않음)
+    public void writeBudgetExcel(BudgetTable budget, OutputStream out) throws IOException {
+        Observation.createNotStarted("document.render", observationRegistry)
+                .lowCardinalityKeyValue("format", "xlsx")
+                .lowCardinalityKeyValue("mode", exportMode)
+                .observeChecked(() -> {
+                    if ("xssf".equals(exportMode)) {
+                        renderBudgetExcel(budget, out);
+                    } else {
+                        streamBudgetExcel(budget, out);
+                    }
+                    return null;
+                });
+    }
+
+    // 기존 방식: 워크북 전체를 메모리에 만들고 autoSizeColumn으로 너비 계산
+    private void renderBudgetExcel(BudgetTable budget, OutputStream out) throws IOException {
+        try (Workbook workbook = new XSSFWorkbook()) {
+            Sheet sheet = fillSheet(workbook, budget, null);
+
+            for (int i = 0; i < HEADERS.length; i++) {
+                sheet.autoSizeColumn(i);
+                sheet.setColumnWidth(i, sheet.getColumnWidth(i) + 1000);
+            }
+
+            workbook.write(out);
+        }
+    }
+
+    // SXSSF: ROW_WINDOW 행만 메모리에 두고, 너비는 쓰면서 센 글자 수로 정한다 (폰트 측정 없음)
+    private void streamBudgetExcel(BudgetTable budget, OutputStream out) throws IOException {
+        SXSSFWorkbook workbook = new SXSSFWorkbook(ROW_WINDOW);
+        workbook.setCompressTempFiles(true);
+        try {
+            int[] widths = new int[HEADERS.length];
+            Sheet sheet = fillSheet(workbook, budget, widths);
+
+            for (int i = 0; i < widths.length; i++) {
+                sheet.setColumnWidth(i, Math.min(255 * 256, widths[i] * 256 + 1000));
+            }
+
+            workbook.write(out);
+        } finally {
+            workbook.dispose();
+            workbook.close();
+        }
+    }
+
+    private Sheet fillSheet(Workbook workbook, BudgetTable budget, int[] widths) {
         Sheet sheet = workbook.createSheet("사업비 산출내역");
 
         CellStyle headerStyle = createHeaderStyle(workbook);
@@ -21,54 +91,36 @@ public class ExcelGenerationService {
         CellStyle numberStyle = createNumberStyle(workbook);
 
         Row headerRow = sheet.createRow(0);
-        String[] headers = {"세부사업", "사업비목", "산출근거", "계", "도비(30%)", "시군비(70%)", "자부담"};
 
-        for (int i = 0; i < headers.length; i++) {
-            Cell cell = headerRow.createCell(i);
-            cell.setCellValue(headers[i]);
-            cell.setCellStyle(headerStyle);
+        for (int i = 0; i < HEADERS.length; i++) {
+            createCell(headerRow, i, HEADERS[i], headerStyle, widths);
         }
 
-        List<Map<String, Object>> items = (List<Map<String, Object>>) budgetData.get("items");
         int rowNum = 1;
 
-        for (Map<String, Object> item : items) {
+        for (int i = 0; i < budget.size(); i++) {
             Row row = sheet.createRow(rowNum++);
 
-            createCell(row, 0, getString(item.get("subProject")), dataStyle);
-            createCell(row, 1, getString(item.get("budgetItem")), dataStyle);
-            createCell(row, 2, getString(item.get("calculation")), dataStyle);
-            createCell(row, 3, getLong(item.get("amount")), numberStyle);
-            createCell(row, 4, getLong(item.get("provincialFund")), numberStyle);
-            createCell(row, 5, getLong(item.get("cityFund")), numberStyle);
-            createCell(row, 6, getLong(item.get("selfFund")), numberStyle);
+            createCell(row, 0, budget.subProject(i), dataStyle, widths);
+            createCell(row, 1, budget.budgetItem(i), dataStyle, widths);
+            createCell(row, 2, budget.calculation(i), dataStyle, widths);
+            createCell(row, 3, budget.amount(i), numberStyle, widths);
+            createCell(row, 4, budget.provincialFund(i), numberStyle, widths);
+            createCell(row, 5, budget.cityFund(i), numberStyle, widths);
+            createCell(row, 6, budget.selfFund(i), numberStyle, widths);
         }
 
         Row totalRow = sheet.createRow(rowNum);
-        Cell totalLabelCell = totalRow.createCell(0);
-        totalLabelCell.setCellValue("합계");
-        totalLabelCell.setCellStyle(headerStyle);
-
-        Cell emptyCell1 = totalRow.createCell(1);
-        emptyCell1.setCellStyle(headerStyle);
-        Cell emptyCell2 = totalRow.createCell(2);
-        emptyCell2.setCellStyle(headerStyle);
-
-        createCell(totalRow, 3, getLong(budgetData.get("totalAmount")), headerStyle);
-        createCell(totalRow, 4, getLong(budgetData.get("totalProvincial")), headerStyle);
-        createCell(totalRow, 5, getLong(budgetData.get("totalCity")), headerStyle);
-        createCell(totalRow, 6, getLong(budgetData.get("totalSelf")), headerStyle);
-
-        for (int i = 0; i < headers.length; i++) {
-            sheet.autoSizeColumn(i);
-            sheet.setColumnWidth(i, sheet.getColumnWidth(i) + 1000);
-        }
+        createCell(totalRow, 0, "합계", headerStyle, widths);
+        createCell(totalRow, 1, "", headerStyle, widths);
+        createCell(totalRow, 2, "", headerStyle, widths);
 
-        ByteArrayOutputStream out = new ByteArrayOutputStream();
-        workbook.write(out);
-        workbook.close();
+        createCell(totalRow, 3, budget.totalAmount(), headerStyle, widths);
+        createCell(totalRow, 4, budget.totalProvincial(), headerStyle, widths);
+        createCell(totalRow, 5, budget.totalCity(), headerStyle, widths);
+        createCell(totalRow, 6, budget.totalSelf(), headerStyle, widths);
 
-        return out.toByteArray();
+        return sheet;
     }
 
     private CellStyle createHeaderStyle(Workbook workbook) {
@@ -103,34 +155,46 @@ public class ExcelGenerationService {
         return style;
     }
 
-    private void createCell(Row row, int column, String value, CellStyle style) {
+    private void createCell(Row row, int column, String value, CellStyle style, int[] widths) {
+        String text = value != null ? value : "";
         Cell cell = row.createCell(column);
-        cell.setCellValue(value != null ? value : "");
+        cell.setCellValue(text);
         cell.setCellStyle(style);
+        track(widths, column, text);
     }
 
-    private void createCell(Row row, int column, long value, CellStyle style) {
+    private void createCell(Row row, int column, long value, CellStyle style, int[] widths) {
         Cell cell = row.createCell(column);
         cell.setCellValue(value);
         cell.setCellStyle(style);
+        if (widths != null) {
+            track(widths, column, String.format("%,d", value));
+        }
     }
 
-    private String getString(Object value) {
-        if (value == null) return "";
-        return value.toString();
+    private static void track(int[] widths, int column, String text) {
+        if (widths == null) return;
+        widths[column] = Math.max(widths[column], displayWidth(text));
     }
 
-    private long getLong(Object value) {
-        if (value == null) return 0L;
-
-        if (value instanceof Number) {
-            return ((Number) value).longValue();
+    // 한글 등 전각 문자는 2칸으로 센다
+    static int displayWidth(String text) {
+        int width = 0;
+        for (int i = 0; i < text.length(); ) {
+            int codePoint = text.codePointAt(i);
+            width += isWide(codePoint) ? 2 : 1;
+            i += Character.charCount(codePoint);
         }
+        return width;
+    }
 
-        try {
-            return Long.parseLong(value.toString());
-        } catch (NumberFormatException e) {
-            return 0L;
-        }
+    private static boolean isWide(int codePoint) {
+        return (codePoint >= 0x1100 && codePoint <= 0x115F)
+                || (codePoint >= 0x2E80 && codePoint <= 0xA4CF)
+                || (codePoint >= 0xAC00 && codePoint <= 0xD7A3)
+                || (codePoint >= 0xF900 && codePoint <= 0xFAFF)
+                || (codePoint >= 0xFE30 && codePoint <= 0xFE4F)
+                || (codePoint >= 0xFF00 && codePoint <= 0xFF60)
+                || (codePoint >= 0xFFE0 && codePoint <= 0xFFE6);
     }
-}
\ No newline at end of file
+}
@@ -1,19 +1,90 @@
 package com.example.businessplan.service;
 
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import org.apache.poi.ss.usermodel.*;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
 
 @Service
 public class ExcelParsingService {
 
-    public Map<String, Object> parseExcel(MultipartFile file) throws IOException {
-        Map<String, Object> result = new HashMap<>();
-        List<Map<String, Object>> items = new ArrayList<>();
+    private static final String HEADER_NOT_FOUND = "엑셀 양식이 올바르지 않습니다. '세부사업' 헤더를 찾을 수 없습니다.";
+    private static final int HEADER_SEARCH_ROWS = 6;
+
+    private final ObservationRegistry observationRegistry;
+
+    // streaming: XSSFReader(SAX)로 한 행씩 읽음 / dom: XSSFWorkbook 전체 로딩
+    private final String parseMode;
+
+    public ExcelParsingService(ObservationRegistry observationRegistry,
+                               @Value("${excel.parse.mode:streaming}") String parseMode) {
+        this.observationRegistry = observationRegistry;
+        this.parseMode = parseMode;
+    }
+
+    public BudgetTable parseExcel(MultipartFile file) throws IOException {
+        return Observation.createNotStarted("excel.parse", observationRegistry)
+                .lowCardinalityKeyValue("mode", parseMode)
+                .observeChecked(() -> {
+                    if ("dom".equals(parseMode)) {
+                        return parseWorkbook(file);
+                    }
+
+                    try {
+                        return parseStreaming(file);
+                    } catch (TemplateException e) {
+                        throw new RuntimeException("엑셀 파일 파싱 실패: " + e.getMessage(), e);
+                    } catch (Exception e) {
+                        // 스트리밍으로 읽을 수 없는 파일은 기존 방식으로 한 번 더 시도
+                        System.err.println("스트리밍 파싱 실패, 워크북 로딩으로 재시도: " + e.getMessage());
+                        return parseWorkbook(file);
+                    }
+                });
+    }
+
+    private BudgetTable parseStreaming(MultipartFile file) throws Exception {
+        BudgetTable table = new BudgetTable();
+        int[] headerRow = {-1};
+
+        // OPCPackage는 파일에서 열어야 압축을 메모리에 풀지 않는다
+        Path temp = Files.createTempFile("budget-upload-", ".xlsx");
+        try {
+            file.transferTo(temp);
+
+            StreamingSheetReader.readFirstSheet(temp.toFile(), (rowIndex, cells) -> {
+                if (headerRow[0] == -1) {
+                    if (rowIndex >= HEADER_SEARCH_ROWS) {
+                        return false;
+                    }
+                    if (isHeaderRow(cells)) {
+                        headerRow[0] = rowIndex;
+                    }
+                    return true;
+                }
+
+                parseRow(cells, table);
+                return true;
+            });
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+
+        if (headerRow[0] == -1) {
+            throw new TemplateException(HEADER_NOT_FOUND);
+        }
+        return table;
+    }
+
+    private BudgetTable parseWorkbook(MultipartFile file) throws IOException {
+        BudgetTable table = new BudgetTable();
 
         try (Workbook workbook = new XSSFWorkbook(file.getInputStream())) {
             Sheet sheet = workbook.getSheetAt(0);
@@ -21,43 +92,17 @@ public class ExcelParsingService {
             int headerRow = findHeaderRow(sheet);
 
             if (headerRow == -1) {
-                throw new RuntimeException("엑셀 양식이 올바르지 않습니다. '세부사업' 헤더를 찾을 수 없습니다.");
+                throw new RuntimeException(HEADER_NOT_FOUND);
             }
 
             for (int i = headerRow + 1; i <= sheet.getLastRowNum(); i++) {
                 Row row = sheet.getRow(i);
                 if (row == null) continue;
 
-                Map<String, Object> item = parseRow(row);
-                if (item != null && !item.isEmpty()) {
-                    items.add(item);
-                }
+                parseRow(cellsOf(row), table);
             }
 
-            long totalAmount = items.stream()
-                    .mapToLong(item -> (Long) item.getOrDefault("amount", 0L))
-                    .sum();
-
-            long totalProvincial = items.stream()
-                    .mapToLong(item -> (Long) item.getOrDefault("provincialFund", 0L))
-                    .sum();
-
-            long totalCity = items.stream()
-                    .mapToLong(item -> (Long) item.getOrDefault("cityFund", 0L))
-                    .sum();
-
-            long totalSelf = items.stream()
-                    .mapToLong(item -> (Long) item.getOrDefault("selfFund", 0L))
-                    .sum();
-
-            result.put("items", items);
-            result.put("totalAmount", totalAmount);
-            result.put("totalProvincial", totalProvincial);
-            result.put("totalCity", totalCity);
-            result.put("totalSelf", totalSelf);
-            result.put("itemCount", items.size());
-
-            return result;
+            return table;
 
         } catch (Exception e) {
             throw new RuntimeException("엑셀 파일 파싱 실패: " + e.getMessage(), e);
@@ -65,91 +110,64 @@ public class ExcelParsingService {
     }
 
     private int findHeaderRow(Sheet sheet) {
-        for (int i = 0; i <= Math.min(5, sheet.getLastRowNum()); i++) {
+        for (int i = 0; i <= Math.min(HEADER_SEARCH_ROWS - 1, sheet.getLastRowNum()); i++) {
             Row row = sheet.getRow(i);
             if (row == null) continue;
 
-            for (Cell cell : row) {
-                String value = getCellValueAsString(cell);
-                if (value.contains("세부사업") || value.contains("사업비목")) {
-                    return i;
-                }
+            if (isHeaderRow(cellsOf(row))) {
+                return i;
             }
         }
         return -1;
     }
 
-    private Map<String, Object> parseRow(Row row) {
-        Map<String, Object> item = new HashMap<>();
+    private boolean isHeaderRow(List<SheetCell> cells) {
+        for (SheetCell cell : cells) {
+            String value = cell.asString();
+            if (value.contains("세부사업") || value.contains("사업비목")) {
+                return true;
+            }
+        }
+        return false;
+    }
 
+    private void parseRow(List<SheetCell> cells, BudgetTable table) {
         try {
-            String subProject = getCellValueAsString(row.getCell(0));
+            String subProject = cell(cells, 0).asString();
             if (subProject.isEmpty() || subProject.equals("소계") || subProject.equals("합계")) {
-                return null;
+                return;
             }
 
-            String budgetItem = getCellValueAsString(row.getCell(1));
-            String calculation = getCellValueAsString(row.getCell(2));
-            long amount = getCellValueAsLong(row.getCell(3));
-            long provincialFund = getCellValueAsLong(row.getCell(4));
-            long cityFund = getCellValueAsLong(row.getCell(5));
-            long selfFund = getCellValueAsLong(row.getCell(6));
+            String budgetItem = cell(cells, 1).asString();
+            String calculation = cell(cells, 2).asString();
+            long amount = cell(cells, 3).asLong();
+            long provincialFund = cell(cells, 4).asLong();
+            long cityFund = cell(cells, 5).asLong();
+            long selfFund = cell(cells, 6).asLong();
 
-            item.put("subProject", subProject);
-            item.put("budgetItem", budgetItem);
-            item.put("calculation", calculation);
-            item.put("amount", amount);
-            item.put("provincialFund", provincialFund);
-            item.put("cityFund", cityFund);
-            item.put("selfFund", selfFund);
-
-            return item;
+            table.add(subProject, budgetItem, calculation, amount, provincialFund, cityFund, selfFund);
 
         } catch (Exception e) {
             System.err.println("행 파싱 실패: " + e.getMessage());
-            return null;
         }
     }
 
-    private String getCellValueAsString(Cell cell) {
-        if (cell == null) return "";
-
-        switch (cell.getCellType()) {
-            case STRING:
-                return cell.getStringCellValue().trim();
-            case NUMERIC:
-                return String.valueOf((long) cell.getNumericCellValue());
-            case BOOLEAN:
-                return String.valueOf(cell.getBooleanCellValue());
-            case FORMULA:
-                try {
-                    return cell.getStringCellValue().trim();
-                } catch (Exception e) {
-                    return String.valueOf((long) cell.getNumericCellValue());
-                }
-            default:
-                return "";
+    private List<SheetCell> cellsOf(Row row) {
+        List<SheetCell> cells = new ArrayList<>();
+        for (int i = 0; i < Math.max(0, row.getLastCellNum()); i++) {
+            cells.add(SheetCell.of(row.getCell(i)));
         }
+        return cells;
     }
 
-    private long getCellValueAsLong(Cell cell) {
-        if (cell == null) return 0L;
+    private SheetCell cell(List<SheetCell> cells, int index) {
+        return index < cells.size() ? cells.get(index) : SheetCell.BLANK;
+    }
 
-        try {
-            switch (cell.getCellType()) {
-                case NUMERIC:
-                    return (long) cell.getNumericCellValue();
-                case STRING:
-                    String value = cell.getStringCellValue().trim()
-                            .replaceAll("[^0-9]", "");
-                    return value.isEmpty() ? 0L : Long.parseLong(value);
-                case FORMULA:
-                    return (long) cell.getNumericCellValue();
-                default:
-                    return 0L;
-            }
-        } catch (Exception e) {
-            return 0L;
+    // 양식 자체가 틀린 경우 (워크북 로딩으로 다시 시도해도 결과가 같음)
+    private static class TemplateException extends RuntimeException {
+        TemplateException(String message) {
+            super(message);
         }
     }
-}
\ No newline at end of file
+}
@@ -2,29 +2,76 @@ package com.example.businessplan.service;
 
 import com.example.businessplan.entity.Answer;
 import com.example.businessplan.entity.Project;
+import com.example.businessplan.llm.LlmClient;
+import com.example.businessplan.llm.LlmMetrics;
+import com.example.businessplan.llm.LlmResilience;
+import com.example.businessplan.llm.LlmResponseCache;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.theokanning.openai.completion.chat.ChatCompletionRequest;
 import com.theokanning.openai.completion.chat.ChatMessage;
-import com.theokanning.openai.service.OpenAiService;
+import io.reactivex.Flowable;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.time.Duration;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.function.Predicate;
 
 @Service
 public class GptService {
 
-    private final OpenAiService openAiService;
-    private final String model;
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
 
-    public GptService(@Value("${openai.api-key}") String apiKey,
-                      @Value("${openai.model}") String model) {
-        this.openAiService = new OpenAiService(apiKey, Duration.ofSeconds(60));
+    private final LlmClient llmClient;
+    private final String model;
+    private final LlmResponseCache responseCache;
+    private final LlmResilience resilience;
+    private final LlmMetrics metrics;
+
+    public GptService(LlmClient llmClient,
+                      @Value("${openai.model:gpt-3.5-turbo}") String model,
+                      LlmResponseCache responseCache,
+                      LlmResilience resilience,
+                      LlmMetrics metrics) {
+        this.llmClient = llmClient;
         this.model = model;
-        System.out.println("✅ OpenAI 서비스 초기화 성공! (Model: " + model + ")");
+        this.responseCache = responseCache;
+        this.resilience = resilience;
+        this.metrics = metrics;
+        System.out.println("✅ GPT 서비스 초기화 (Model: " + model + ", Backend: " + llmClient.getClass().getSimpleName() + ")");
+    }
+
+    // 모든 호출이 거치는 공통 경로. 캐시가 허용된 호출이면 동일 요청의 이전 응답을 재사용한다.
+    private String complete(String operation, ChatCompletionRequest request) {
+        return complete(operation, request, content -> !content.isBlank());
+    }
+
+    // cacheIf를 통과한 응답만 캐시에 넣는다 (형식이 깨진 응답이 TTL 동안 재사용되지 않도록)
+    private String complete(String operation, ChatCompletionRequest request, Predicate<String> cacheIf) {
+        boolean cacheable = responseCache.isEnabledFor(operation);
+        String cacheKey = null;
+
+        if (cacheable) {
+            cacheKey = responseCache.key(request);
+            Optional<String> cached = responseCache.get(cacheKey);
+            if (cached.isPresent()) {
+                metrics.recordCacheHit(operation, request.getModel());
+                return cached.get();
+            }
+        }
+
+        String content = metrics.observe(operation, request.getModel(),
+                () -> resilience.execute(operation, () -> llmClient.complete(request))).content();
+
+        if (cacheable && content != null && cacheIf.test(content)) {
+            responseCache.put(cacheKey, content);
+        }
+        return content;
     }
 
     public String generateDetailedPlanQuestions(String projectName, String projectLocation) {
@@ -52,11 +99,7 @@ public class GptService {
                     .maxTokens(300)
                     .build();
 
-            return openAiService.createChatCompletion(request)
-                    .getChoices()
-                    .get(0)
-                    .getMessage()
-                    .getContent();
+            return complete("detailedPlanQuestions", request);
 
         } catch (Exception e) {
             throw new RuntimeException("질문 생성 실패: " + e.getMessage(), e);
@@ -88,11 +131,7 @@ public class GptService {
                     .maxTokens(300)
                     .build();
 
-            return openAiService.createChatCompletion(request)
-                    .getChoices()
-                    .get(0)
-                    .getMessage()
-                    .getContent();
+            return complete("monthlyPlanQuestions", request);
 
         } catch (Exception e) {
             throw new RuntimeException("질문 생성 실패: " + e.getMessage(), e);
@@ -123,17 +162,109 @@ public class GptService {
                     .maxTokens(300)
                     .build();
 
-            return openAiService.createChatCompletion(request)
-                    .getChoices()
-                    .get(0)
-                    .getMessage()
-                    .getContent();
+            return complete("expectedEffectQuestions", request);
+
+        } catch (Exception e) {
+            throw new RuntimeException("질문 생성 실패: " + e.getMessage(), e);
+        }
+    }
+
+    public static final List<String> QUESTION_SECTIONS = List.of("세부계획", "월별추진계획", "기대효과");
+
+    // 섹션 단독 생성 시 형식 안내와 출력 한도 (전체 생성의 2000 토큰을 섹션 분량에 맞게 나눔)
+    private static final Map<String, String> SECTION_FORMATS = Map.of(
+            "세부계획", "【세부계획】\n가) 세부사업별 내용\n❍ (세부 사업명)\n- 일시/장소: (구체적으로 작성)\n"
+                    + "- 참여인원: (명확한 인원수)\n- 사업내용: (상세하게 2-3문장으로)\n\n필요시 여러 세부사업 작성\n",
+            "월별추진계획", "【월별 추진계획】\n사업기간에 맞춰 각 월별로 추진할 내용을 구체적으로 작성\n형식:\n"
+                    + "3월\n❍ 세부내용\n- 구체적 활동\n\n4월\n❍ 세부내용\n- 구체적 활동\n\n(사업기간 동안 계속)\n",
+            "기대효과", "【기대효과】\n❍ (효과 1 - 2-3문장)\n❍ (효과 2 - 2-3문장)\n");
+
+    private static final Map<String, Integer> SECTION_MAX_TOKENS = Map.of(
+            "세부계획", 900,
+            "월별추진계획", 900,
+            "기대효과", 400);
+
+    // 세 섹션 질문을 한 번의 호출로 생성 (JSON 응답: 섹션 → 질문 목록)
+    public Map<String, List<String>> generateAllSectionQuestions(String projectName,
+                                                                 String projectLocation,
+                                                                 String projectPeriod) {
+        try {
+            StringBuilder prompt = new StringBuilder();
+            prompt.append("다음 사업의 사업계획서를 작성하기 위한 질문을 섹션별로 2개씩 만들어주세요.\n\n");
+            prompt.append("사업명: ").append(projectName).append("\n");
+            prompt.append("위치: ").append(projectLocation).append("\n");
+            prompt.append("기간: ").append(projectPeriod).append("\n\n");
+            prompt.append("섹션별 질문 내용:\n");
+            prompt.append("- 세부계획: 세부사업 내용(일시/장소/참여인원/내용)을 알 수 있는 질문\n");
+            prompt.append("- 월별추진계획: 각 월별로 어떤 활동을 할 계획인지 알 수 있는 질문\n");
+            prompt.append("- 기대효과: 사업의 긍정적 영향이나 기대효과를 알 수 있는 질문\n\n");
+            prompt.append("질문 조건:\n");
+            prompt.append("1. 존댓말 사용\n");
+            prompt.append("2. 짧고 명확하게 (15~20자)\n\n");
+            prompt.append("출력 형식 (설명이나 코드블록 없이 JSON만 출력):\n");
+            prompt.append("{\"세부계획\": [\"질문\", \"질문\"], ");
+            prompt.append("\"월별추진계획\": [\"질문\", \"질문\"], ");
+            prompt.append("\"기대효과\": [\"질문\", \"질문\"]}\n");
+
+            List<ChatMessage> messages = new ArrayList<>();
+            messages.add(new ChatMessage("system", "당신은 사업계획서 작성 전문가입니다. 항상 JSON으로만 응답합니다."));
+            messages.add(new ChatMessage("user", prompt.toString()));
+
+            ChatCompletionRequest request = ChatCompletionRequest.builder()
+                    .model(model)
+                    .messages(messages)
+                    .temperature(0.7)
+                    .maxTokens(600)
+                    .build();
+
+            return parseSectionQuestions(complete("allSectionQuestions", request, this::isValidSectionQuestions));
 
         } catch (Exception e) {
             throw new RuntimeException("질문 생성 실패: " + e.getMessage(), e);
         }
     }
 
+    private boolean isValidSectionQuestions(String response) {
+        try {
+            parseSectionQuestions(response);
+            return true;
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private Map<String, List<String>> parseSectionQuestions(String response) throws JsonProcessingException {
+        String json = response.trim();
+        int start = json.indexOf('{');
+        int end = json.lastIndexOf('}');
+        if (start < 0 || end <= start) {
+            throw new IllegalArgumentException("JSON 응답이 아닙니다");
+        }
+
+        JsonNode root = OBJECT_MAPPER.readTree(json.substring(start, end + 1));
+
+        Map<String, List<String>> sections = new LinkedHashMap<>();
+        for (String section : QUESTION_SECTIONS) {
+            JsonNode node = root.get(section);
+            if (node == null || !node.isArray()) {
+                throw new IllegalArgumentException("'" + section + "' 질문 목록이 없습니다");
+            }
+
+            List<String> questions = new ArrayList<>();
+            for (JsonNode item : node) {
+                String text = item.asText("").trim();
+                if (!text.isEmpty()) {
+                    questions.add(text);
+                }
+            }
+            if (questions.isEmpty()) {
+                throw new IllegalArgumentException("'" + section + "' 질문이 비어 있습니다");
+            }
+            sections.put(section, questions);
+        }
+        return sections;
+    }
+
     public String expandAnswer(String question, String userAnswer, String section) {
         try {
             StringBuilder prompt = new StringBuilder();
@@ -158,11 +289,7 @@ public class GptService {
                     .maxTokens(500)
                     .build();
 
-            return openAiService.createChatCompletion(request)
-                    .getChoices()
-                    .get(0)
-                    .getMessage()
-                    .getContent();
+            return complete("expandAnswer", request);
 
         } catch (Exception e) {
             throw new RuntimeException("답변 확장 실패: " + e.getMessage(), e);
@@ -174,111 +301,184 @@ public class GptService {
             List<Answer> answers) {
 
         try {
-            // 답변을 섹션별로 정리
-            StringBuilder detailedAnswers = new StringBuilder();
-            StringBuilder monthlyAnswers = new StringBuilder();
-            StringBuilder effectAnswers = new StringBuilder();
-
-            for (Answer answer : answers) {
-                String section = answer.getQuestion().getSection();
-                String questionText = answer.getQuestion().getQuestionText();
-                String userAnswer = answer.getUserAnswer();
-
-                String line = "Q: " + questionText + "\nA: " + userAnswer + "\n\n";
-
-                if (section.contains("세부계획")) {
-                    detailedAnswers.append(line);
-                } else if (section.contains("월별")) {
-                    monthlyAnswers.append(line);
-                } else if (section.contains("기대효과")) {
-                    effectAnswers.append(line);
-                }
-            }
-
-            StringBuilder prompt = new StringBuilder();
-
-            prompt.append("=== 사업 기본 정보 ===\n");
-            prompt.append("공동체명: ").append(project.getCommunityName()).append("\n");
-            prompt.append("사업명: ").append(project.getProjectName()).append("\n");
-            prompt.append("기간: ").append(project.getProjectPeriod()).append("\n");
-            prompt.append("위치: ").append(project.getProjectLocation()).append("\n\n");
-
-            prompt.append("=== 세부계획 관련 답변 ===\n");
-            prompt.append(detailedAnswers.toString()).append("\n");
-
-            prompt.append("=== 월별계획 관련 답변 ===\n");
-            prompt.append(monthlyAnswers.toString()).append("\n");
-
-            prompt.append("=== 기대효과 관련 답변 ===\n");
-            prompt.append(effectAnswers.toString()).append("\n");
-
-            prompt.append("위 정보를 바탕으로 사업 실행계획서를 작성해주세요.\n\n");
+            String response = complete("page2Content", buildPage2Request(project, answers));
 
-            prompt.append("【2. 세부계획】\n");
-            prompt.append("가) 세부사업별 내용\n");
-            prompt.append("❍ (세부 사업명)\n");
-            prompt.append("- 일시/장소: (구체적으로 작성)\n");
-            prompt.append("- 참여인원: (명확한 인원수)\n");
-            prompt.append("- 사업내용: (상세하게 2-3문장으로)\n\n");
+            System.out.println("=== GPT 응답 ===");
+            System.out.println(response);
+            System.out.println("=== 응답 끝 ===");
 
-            prompt.append("필요시 여러 세부사업 작성\n\n");
+            return parsePageContent(response);
 
-            prompt.append("【3. 월별 추진계획】\n");
-            prompt.append("사업기간에 맞춰 각 월별로 추진할 내용을 구체적으로 작성\n");
-            prompt.append("형식:\n");
-            prompt.append("3월\n❍ 세부내용\n- 구체적 활동\n\n");
-            prompt.append("4월\n❍ 세부내용\n- 구체적 활동\n\n");
-            prompt.append("(사업기간 동안 계속)\n\n");
+        } catch (Exception e) {
+            throw new RuntimeException("페이지 내용 생성 실패: " + e.getMessage(), e);
+        }
+    }
 
-            prompt.append("【4. 기대효과】\n");
-            prompt.append("❍ (효과 1 - 2-3문장)\n");
-            prompt.append("❍ (효과 2 - 2-3문장)\n\n");
+    // 한 섹션만 생성 (나머지 섹션은 기존 내용을 재사용할 때)
+    public String generateSectionContent(Project project, List<Answer> answers, String section) {
+        try {
+            String response = complete("page2Section", buildSectionRequest(project, answers, section));
 
-            prompt.append("작성 원칙:\n");
-            prompt.append("- 격식있고 전문적인 문체 사용\n");
-            prompt.append("- 신청자 답변의 의도를 정확히 반영\n");
-            prompt.append("- 구체적이고 실현 가능한 내용으로\n");
-            prompt.append("- 평가자가 납득할 수 있는 설득력 있는 내용\n");
-            prompt.append("- 각 섹션은 명확히 구분하여 작성\n\n");
+            // 지시와 달리 [섹션] 제목을 붙여 답하는 경우 본문만 꺼낸다
+            Map<String, String> parsed = parsePageContent(response);
+            if (parsed.containsKey(section)) {
+                return parsed.get(section);
+            }
+            return response.trim();
 
-            prompt.append("출력 형식:\n");
-            prompt.append("[세부계획]\n내용...\n\n");
-            prompt.append("[월별추진계획]\n내용...\n\n");
-            prompt.append("[기대효과]\n내용...\n");
+        } catch (Exception e) {
+            throw new RuntimeException(section + " 생성 실패: " + e.getMessage(), e);
+        }
+    }
 
-            List<ChatMessage> messages = new ArrayList<>();
-            messages.add(new ChatMessage("system",
-                    "당신은 정부 지원사업 사업계획서 작성 전문가입니다. " +
-                            "신청자의 답변을 바탕으로 전문적이고 설득력있는 계획서를 작성합니다. " +
-                            "형식을 정확히 지키고, 각 섹션을 명확히 구분하여 작성합니다."));
-            messages.add(new ChatMessage("user", prompt.toString()));
+    // 질문의 섹션명을 계획서 섹션(세부계획/월별추진계획/기대효과)으로 맞춘다
+    public static String planSectionOf(String questionSection) {
+        if (questionSection == null) return null;
+        if (questionSection.contains("세부계획")) return "세부계획";
+        if (questionSection.contains("월별")) return "월별추진계획";
+        if (questionSection.contains("기대효과")) return "기대효과";
+        return null;
+    }
 
-            ChatCompletionRequest request = ChatCompletionRequest.builder()
-                    .model(model)
-                    .messages(messages)
-                    .temperature(0.7)
-                    .maxTokens(2000)
-                    .build();
+    private ChatCompletionRequest buildSectionRequest(Project project, List<Answer> answers, String section) {
+        StringBuilder prompt = new StringBuilder();
 
-            String response = openAiService.createChatCompletion(request)
-                    .getChoices()
-                    .get(0)
-                    .getMessage()
-                    .getContent();
+        prompt.append("=== 사업 기본 정보 ===\n");
+        prompt.append("공동체명: ").append(project.getCommunityName()).append("\n");
+        prompt.append("사업명: ").append(project.getProjectName()).append("\n");
+        prompt.append("기간: ").append(project.getProjectPeriod()).append("\n");
+        prompt.append("위치: ").append(project.getProjectLocation()).append("\n\n");
 
-            System.out.println("=== GPT 응답 ===");
-            System.out.println(response);
-            System.out.println("=== 응답 끝 ===");
+        prompt.append("=== ").append(section).append(" 관련 답변 ===\n");
+        for (Answer answer : answers) {
+            if (section.equals(planSectionOf(answer.getQuestion().getSection()))) {
+                prompt.append("Q: ").append(answer.getQuestion().getQuestionText())
+                        .append("\nA: ").append(answer.getUserAnswer()).append("\n\n");
+            }
+        }
+        prompt.append("\n");
+
+        prompt.append("위 정보를 바탕으로 사업 실행계획서의 아래 섹션만 작성해주세요.\n\n");
+        prompt.append(SECTION_FORMATS.get(section)).append("\n");
+
+        prompt.append("작성 원칙:\n");
+        prompt.append("- 격식있고 전문적인 문체 사용\n");
+        prompt.append("- 신청자 답변의 의도를 정확히 반영\n");
+        prompt.append("- 구체적이고 실현 가능한 내용으로\n");
+        prompt.append("- 평가자가 납득할 수 있는 설득력 있는 내용\n");
+        prompt.append("- 섹션 제목 없이 본문만 출력\n");
+
+        List<ChatMessage> messages = new ArrayList<>();
+        messages.add(new ChatMessage("system",
+                "당신은 정부 지원사업 사업계획서 작성 전문가입니다. " +
+                        "신청자의 답변을 바탕으로 전문적이고 설득력있는 계획서를 작성합니다."));
+        messages.add(new ChatMessage("user", prompt.toString()));
+
+        return ChatCompletionRequest.builder()
+                .model(model)
+                .messages(messages)
+                .temperature(0.7)
+                .maxTokens(SECTION_MAX_TOKENS.get(section))
+                .build();
+    }
 
-            return parsePageContent(response);
+    // 토큰이 도착하는 대로 내보내는 스트리밍 버전 (최종 파싱은 호출한 쪽에서 parsePageContent로)
+    public Flowable<String> streamPage2Content(Project project, List<Answer> answers) {
+        ChatCompletionRequest request = buildPage2Request(project, answers);
+        return metrics.observeStream("page2Content", request.getModel(),
+                resilience.stream("page2Content", () -> llmClient.stream(request)));
+    }
 
-        } catch (Exception e) {
-            throw new RuntimeException("페이지 내용 생성 실패: " + e.getMessage(), e);
+    private ChatCompletionRequest buildPage2Request(Project project, List<Answer> answers) {
+        // 답변을 섹션별로 정리
+        StringBuilder detailedAnswers = new StringBuilder();
+        StringBuilder monthlyAnswers = new StringBuilder();
+        StringBuilder effectAnswers = new StringBuilder();
+
+        for (Answer answer : answers) {
+            String section = answer.getQuestion().getSection();
+            String questionText = answer.getQuestion().getQuestionText();
+            String userAnswer = answer.getUserAnswer();
+
+            String line = "Q: " + questionText + "\nA: " + userAnswer + "\n\n";
+
+            if (section.contains("세부계획")) {
+                detailedAnswers.append(line);
+            } else if (section.contains("월별")) {
+                monthlyAnswers.append(line);
+            } else if (section.contains("기대효과")) {
+                effectAnswers.append(line);
+            }
         }
+
+        StringBuilder prompt = new StringBuilder();
+
+        prompt.append("=== 사업 기본 정보 ===\n");
+        prompt.append("공동체명: ").append(project.getCommunityName()).append("\n");
+        prompt.append("사업명: ").append(project.getProjectName()).append("\n");
+        prompt.append("기간: ").append(project.getProjectPeriod()).append("\n");
+        prompt.append("위치: ").append(project.getProjectLocation()).append("\n\n");
+
+        prompt.append("=== 세부계획 관련 답변 ===\n");
+        prompt.append(detailedAnswers.toString()).append("\n");
+
+        prompt.append("=== 월별계획 관련 답변 ===\n");
+        prompt.append(monthlyAnswers.toString()).append("\n");
+
+        prompt.append("=== 기대효과 관련 답변 ===\n");
+        prompt.append(effectAnswers.toString()).append("\n");
+
+        prompt.append("위 정보를 바탕으로 사업 실행계획서를 작성해주세요.\n\n");
+
+        prompt.append("【2. 세부계획】\n");
+        prompt.append("가) 세부사업별 내용\n");
+        prompt.append("❍ (세부 사업명)\n");
+        prompt.append("- 일시/장소: (구체적으로 작성)\n");
+        prompt.append("- 참여인원: (명확한 인원수)\n");
+        prompt.append("- 사업내용: (상세하게 2-3문장으로)\n\n");
+
+        prompt.append("필요시 여러 세부사업 작성\n\n");
+
+        prompt.append("【3. 월별 추진계획】\n");
+        prompt.append("사업기간에 맞춰 각 월별로 추진할 내용을 구체적으로 작성\n");
+        prompt.append("형식:\n");
+        prompt.append("3월\n❍ 세부내용\n- 구체적 활동\n\n");
+        prompt.append("4월\n❍ 세부내용\n- 구체적 활동\n\n");
+        prompt.append("(사업기간 동안 계속)\n\n");
+
+        prompt.append("【4. 기대효과】\n");
+        prompt.append("❍ (효과 1 - 2-3문장)\n");
+        prompt.append("❍ (효과 2 - 2-3문장)\n\n");
+
+        prompt.append("작성 원칙:\n");
+        prompt.append("- 격식있고 전문적인 문체 사용\n");
+        prompt.append("- 신청자 답변의 의도를 정확히 반영\n");
+        prompt.append("- 구체적이고 실현 가능한 내용으로\n");
+        prompt.append("- 평가자가 납득할 수 있는 설득력 있는 내용\n");
+        prompt.append("- 각 섹션은 명확히 구분하여 작성\n\n");
+
+        prompt.append("출력 형식:\n");
+        prompt.append("[세부계획]\n내용...\n\n");
+        prompt.append("[월별추진계획]\n내용...\n\n");
+        prompt.append("[기대효과]\n내용...\n");
+
+        List<ChatMessage> messages = new ArrayList<>();
+        messages.add(new ChatMessage("system",
+                "당신은 정부 지원사업 사업계획서 작성 전문가입니다. " +
+                        "신청자의 답변을 바탕으로 전문적이고 설득력있는 계획서를 작성합니다. " +
+                        "형식을 정확히 지키고, 각 섹션을 명확히 구분하여 작성합니다."));
+        messages.add(new ChatMessage("user", prompt.toString()));
+
+        return ChatCompletionRequest.builder()
+                .model(model)
+                .messages(messages)
+                .temperature(0.7)
+                .maxTokens(2000)
+                .build();
     }
 
 
-    private Map<String, String> parsePageContent(String response) {
+    public Map<String, String> parsePageContent(String response) {
         Map<String, String> sections = new LinkedHashMap<>();
 
         String[] lines = response.split("\n");
@@ -0,0 +1,66 @@
+package com.example.businessplan.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * questions/answers가 IDENTITY에서 시퀀스 ID(question_seq, answer_seq)로 바뀌기 전의 행이 남아 있는 DB용.
+ * ddl-auto=update는 시퀀스를 1부터 만들기 때문에 그대로 두면 새 INSERT가 기존 ID와 겹친다.
+ * 웹 요청을 받기 전(빈 초기화 시점)에 시퀀스를 max(id) 위로 옮긴다. 이미 충분히 앞서 있으면 그대로 둔다.
+ */
+@Component
+public class IdSequenceAligner {
+
+    // 엔티티의 @SequenceGenerator allocationSize와 같아야 한다 (pooled: nextval 하나가 ID 50개)
+    static final int ALLOCATION_SIZE = 50;
+
+    // 테이블 → 시퀀스
+    private static final Map<String, String> SEQUENCES = Map.of(
+            "questions", "question_seq",
+            "answers", "answer_seq");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Dialect dialect;
+
+    public IdSequenceAligner(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dialect = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect();
+    }
+
+    @PostConstruct
+    public void alignOnStartup() {
+        try {
+            align();
+        } catch (RuntimeException e) {
+            // 정렬에 실패해도 서비스는 뜨게 한다 (질문/답변 저장이 중복 키로 실패할 수 있음)
+            System.err.println("ID 시퀀스 정렬 실패: " + e.getMessage());
+        }
+    }
+
+    public void align() {
+        SEQUENCES.forEach(this::align);
+    }
+
+    private void align(String table, String sequence) {
+        Long maxId = jdbcTemplate.queryForObject("select max(id) from " + table, Long.class);
+        if (maxId == null) {
+            return;
+        }
+
+        // pooled 최적화기는 nextval 값 v를 받으면 (v - 49) ~ v 를 쓴다. 블록 하나를 버리는 대신 현재 위치를 확인
+        Long next = jdbcTemplate.queryForObject(dialect.getSequenceSupport().getSequenceNextValString(sequence), Long.class);
+        if (next != null && next - ALLOCATION_SIZE + 1 > maxId) {
+            return;
+        }
+
+        long restart = maxId + ALLOCATION_SIZE;
+        jdbcTemplate.execute("alter sequence " + sequence + " restart with " + restart);
+        System.out.println("ID 시퀀스 정렬: " + sequence + " → " + restart + " (" + table + " 최대 ID " + maxId + ")");
+    }
+}
@@ -0,0 +1,235 @@
+package com.example.businessplan.service;
+
+import com.example.businessplan.entity.Project;
+import com.itextpdf.io.font.FontProgram;
+import com.itextpdf.io.font.FontProgramFactory;
+import com.itextpdf.io.font.PdfEncodings;
+import com.itextpdf.kernel.colors.DeviceRgb;
+import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.kernel.font.PdfFontFactory;
+import com.itextpdf.kernel.geom.PageSize;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.WriterProperties;
+import com.itextpdf.layout.Document;
+import com.itextpdf.layout.element.Cell;
+import com.itextpdf.layout.element.Paragraph;
+import com.itextpdf.layout.element.Table;
+import com.itextpdf.layout.properties.TextAlignment;
+import com.itextpdf.layout.properties.UnitValue;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * 사업계획서 PDF (DOCX를 변환하지 않고 Project 필드로 바로 그림).
+ * 글꼴 프로그램은 JVM당 한 번만 읽고, 문서마다 PdfFont만 새로 만든다 (쓴 글자만 subset으로 PDF에 들어감).
+ * 기본은 함께 배포하는 Noto Sans KR(SIL OFL)을 넣으므로, 받는 쪽에 한글 글꼴이 없어도 같은 모양으로 보인다.
+ */
+@Service
+public class PdfGenerationService {
+
+    static final String BUNDLED_FONT = "classpath:fonts/NotoSansKR-Regular.otf";
+
+    // pdf.font.path=cid:<이름> 으로 명시한 경우에만 글꼴을 넣지 않고 font-asian CID 글꼴 이름만 참조 (뷰어 글꼴에 의존)
+    private static final String CID_PREFIX = "cid:";
+    private static final String CID_FONT = "HYSMyeongJo-Medium";
+    private static final String CID_ENCODING = "UniKS-UCS2-H";
+
+    private static final DeviceRgb SHADE = new DeviceRgb(0xF8, 0xF9, 0xFA);
+    private static final String[] BUDGET_HEADERS = {"세부사업", "사업비목", "산출근거", "계", "도비(30%)", "시군비(70%)", "자부담"};
+
+    private final ObservationRegistry observationRegistry;
+    private final FontProgram fontProgram;
+    private final String fontEncoding;
+    private final boolean embedFont;
+
+    public PdfGenerationService(ObservationRegistry observationRegistry,
+                                ResourceLoader resourceLoader,
+                                @Value("${pdf.font.path:" + BUNDLED_FONT + "}") String fontPath) {
+        this.observationRegistry = observationRegistry;
+
+        String location = fontPath.isBlank() ? BUNDLED_FONT : fontPath;
+        try {
+            if (location.startsWith(CID_PREFIX)) {
+                String name = location.substring(CID_PREFIX.length());
+                this.fontProgram = FontProgramFactory.createFont(name.isBlank() ? CID_FONT : name);
+                this.fontEncoding = CID_ENCODING;
+                this.embedFont = false;
+                return;
+            }
+
+            Resource resource = resourceLoader.getResource(hasScheme(location) ? location : "file:" + location);
+            if (!resource.exists() && location.equals(BUNDLED_FONT)) {
+                // 글꼴 파일 없이 빌드한 경우에도 서비스는 뜨게 한다 (받는 쪽에 한글 글꼴이 없으면 깨질 수 있음)
+                System.err.println("⚠️ 기본 PDF 글꼴이 없습니다 (" + BUNDLED_FONT + "). 글꼴을 넣지 않는 " + CID_FONT + "로 대체합니다");
+                this.fontProgram = FontProgramFactory.createFont(CID_FONT);
+                this.fontEncoding = CID_ENCODING;
+                this.embedFont = false;
+                return;
+            }
+
+            try (InputStream in = resource.getInputStream()) {
+                this.fontProgram = FontProgramFactory.createFont(in.readAllBytes());
+            }
+            this.fontEncoding = PdfEncodings.IDENTITY_H;
+            this.embedFont = true;
+            System.out.println("PDF 글꼴 사용: " + resource.getDescription());
+
+        } catch (IOException e) {
+            throw new IllegalStateException("PDF 글꼴을 읽을 수 없습니다: " + location, e);
+        }
+    }
+
+    // 예전 설정(pdf.font.path=/경로/글꼴.ttf)은 파일 경로로 본다
+    private static boolean hasScheme(String location) {
+        return location.startsWith("classpath:") || location.startsWith("file:");
+    }
+
+    boolean isFontEmbedded() {
+        return embedFont;
+    }
+
+    // 응답 스트림 등에 바로 쓴다 (out은 닫지 않음)
+    public void writePdf(Project project, OutputStream out) throws IOException {
+        Observation.createNotStarted("document.render", observationRegistry)
+                .lowCardinalityKeyValue("format", "pdf")
+                .observeChecked(() -> {
+                    renderPdf(project, out);
+                    return null;
+                });
+    }
+
+    private void renderPdf(Project project, OutputStream out) throws IOException {
+        PdfWriter writer = new PdfWriter(out, new WriterProperties().setFullCompressionMode(true));
+        writer.setCloseStream(false);
+
+        try (Document document = new Document(new PdfDocument(writer), PageSize.A4)) {
+            PdfFont font = PdfFontFactory.createFont(fontProgram, fontEncoding,
+                    embedFont ? PdfFontFactory.EmbeddingStrategy.FORCE_EMBEDDED : PdfFontFactory.EmbeddingStrategy.PREFER_NOT_EMBEDDED);
+            font.setSubset(true);
+            document.setFont(font).setFontSize(11);
+
+            document.add(new Paragraph("사업 실행계획서")
+                    .setFontSize(20).setBold()
+                    .setTextAlignment(TextAlignment.CENTER)
+                    .setMarginBottom(18));
+
+            addSectionTitle(document, "1. 사업개요");
+            Table overview = new Table(UnitValue.createPercentArray(new float[]{30, 70})).useAllAvailableWidth();
+            addOverviewRow(overview, "공동체명", project.getCommunityName());
+            addOverviewRow(overview, "사업명", project.getProjectName());
+            addOverviewRow(overview, "사업기간", project.getProjectPeriod());
+            addOverviewRow(overview, "사업위치", project.getProjectLocation());
+            addOverviewRow(overview, "사업비", String.format(
+                    "총 %,d천원 (도비 %,d, 시군비 %,d, 자부담 %,d)",
+                    project.getTotalBudget(),
+                    project.getProvincialFund(),
+                    project.getCityFund(),
+                    project.getSelfFund()));
+            document.add(overview);
+
+            if (project.getBudgetDetails() != null && !project.getBudgetDetails().isEmpty()) {
+                try {
+                    BudgetTable budget = BudgetTable.fromJson(project.getBudgetDetails());
+                    addSectionTitle(document, "사업비 산출내역");
+                    document.add(budgetTable(budget));
+                } catch (Exception e) {
+                    System.err.println("사업비 표 추가 실패: " + e.getMessage());
+                }
+            }
+
+            addSection(document, "2. 세부계획", project.getDetailedPlan());
+            addSection(document, "3. 월별 추진계획", project.getMonthlyPlan());
+            addSection(document, "4. 기대효과", project.getExpectedEffect());
+        }
+    }
+
+    private Table budgetTable(BudgetTable budget) {
+        Table table = new Table(UnitValue.createPercentArray(new float[]{14, 13, 22, 13, 13, 14, 11})).useAllAvailableWidth();
+        table.setFontSize(9);
+
+        // 페이지가 넘어가면 머리행을 다시 그린다
+        for (String header : BUDGET_HEADERS) {
+            table.addHeaderCell(new Cell().add(new Paragraph(header).setBold())
+                    .setBackgroundColor(SHADE)
+                    .setTextAlignment(TextAlignment.CENTER));
+        }
+
+        for (int i = 0; i < budget.size(); i++) {
+            table.addCell(textCell(budget.subProject(i)));
+            table.addCell(textCell(budget.budgetItem(i)));
+            table.addCell(textCell(budget.calculation(i)));
+            table.addCell(numberCell(budget.amount(i), false));
+            table.addCell(numberCell(budget.provincialFund(i), false));
+            table.addCell(numberCell(budget.cityFund(i), false));
+            table.addCell(numberCell(budget.selfFund(i), false));
+        }
+
+        table.addCell(new Cell().add(new Paragraph("합계").setBold()).setBackgroundColor(SHADE));
+        table.addCell(new Cell().setBackgroundColor(SHADE));
+        table.addCell(new Cell().setBackgroundColor(SHADE));
+        table.addCell(numberCell(budget.totalAmount(), true));
+        table.addCell(numberCell(budget.totalProvincial(), true));
+        table.addCell(numberCell(budget.totalCity(), true));
+        table.addCell(numberCell(budget.totalSelf(), true));
+        return table;
+    }
+
+    private Cell textCell(String text) {
+        return new Cell().add(new Paragraph(printable(text)));
+    }
+
+    private Cell numberCell(long value, boolean bold) {
+        Paragraph paragraph = new Paragraph(String.format("%,d", value));
+        if (bold) {
+            paragraph.setBold();
+        }
+        return new Cell().add(paragraph).setTextAlignment(TextAlignment.RIGHT);
+    }
+
+    private void addOverviewRow(Table table, String label, String value) {
+        table.addCell(new Cell().add(new Paragraph(label).setBold()).setBackgroundColor(SHADE));
+        table.addCell(new Cell().add(new Paragraph(printable(value))));
+    }
+
+    // 글꼴에 없는 글자(이모지 등)는 iText가 폭 계산에서 실패하므로 미리 바꿔 둔다
+    private String printable(String text) {
+        if (text == null) return "";
+
+        StringBuilder result = new StringBuilder(text.length());
+        text.codePoints().forEach(codePoint -> {
+            if (fontProgram.getGlyph(codePoint) != null) {
+                result.appendCodePoint(codePoint);
+            } else {
+                result.append(Character.isWhitespace(codePoint) || Character.isSpaceChar(codePoint) ? " " : "?");
+            }
+        });
+        return result.toString();
+    }
+
+    private void addSectionTitle(Document document, String title) {
+        document.add(new Paragraph(title)
+                .setFontSize(14).setBold()
+                .setMarginTop(18)
+                .setKeepWithNext(true));
+    }
+
+    private void addSection(Document document, String title, String content) {
+        if (content == null) return;
+
+        addSectionTitle(document, title);
+        for (String line : content.split("\n")) {
+            Paragraph paragraph = new Paragraph(printable(line)).setMargin(0).setMultipliedLeading(1.4f);
+            // 빈 줄도 한 줄 높이를 차지하게
+            document.add(line.isBlank() ? paragraph.setMinHeight(15) : paragraph);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.businessplan.service;
+
+import com.example.businessplan.entity.Answer;
+import com.example.businessplan.entity.Project;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 계획서 섹션별 입력 지문.
+ * 기본 정보(공동체명/사업명/기간/위치)와 해당 섹션의 Q/A가 같으면 같은 값이 나온다.
+ */
+final class PlanFingerprints {
+
+    // 프롬프트 형식을 바꾸면 올려서 기존 지문을 모두 무효화
+    private static final String VERSION = "v1";
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private PlanFingerprints() {
+    }
+
+    static Map<String, String> compute(Project project, List<Answer> answers) {
+        String header = String.join("\u0000", VERSION,
+                Objects.toString(project.getCommunityName(), ""),
+                Objects.toString(project.getProjectName(), ""),
+                Objects.toString(project.getProjectPeriod(), ""),
+                Objects.toString(project.getProjectLocation(), ""));
+
+        List<Answer> ordered = new ArrayList<>(answers);
+        ordered.sort(Comparator.comparing((Answer answer) -> answer.getQuestion().getOrderNum(),
+                        Comparator.nullsLast(Comparator.naturalOrder()))
+                .thenComparing(answer -> answer.getQuestion().getId(),
+                        Comparator.nullsLast(Comparator.naturalOrder())));
+
+        Map<String, String> fingerprints = new LinkedHashMap<>();
+        for (String section : GptService.QUESTION_SECTIONS) {
+            StringBuilder input = new StringBuilder(header);
+            for (Answer answer : ordered) {
+                if (section.equals(GptService.planSectionOf(answer.getQuestion().getSection()))) {
+                    input.append('\u0000').append(answer.getQuestion().getQuestionText())
+                            .append('\u0000').append(Objects.toString(answer.getUserAnswer(), ""));
+                }
+            }
+            fingerprints.put(section, sha256(input.toString()));
+        }
+        return fingerprints;
+    }
+
+    static Map<String, String> read(Project project) {
+        String json = project.getSectionFingerprints();
+        if (json == null || json.isBlank()) {
+            return Map.of();
+        }
+
+        try {
+            return OBJECT_MAPPER.readValue(json, new TypeReference<Map<String, String>>() {});
+        } catch (JsonProcessingException e) {
+            System.err.println("섹션 지문 파싱 실패 (프로젝트 ID: " + project.getId() + "): " + e.getMessage());
+            return Map.of();
+        }
+    }
+
+    static String write(Map<String, String> fingerprints) {
+        try {
+            return OBJECT_MAPPER.writeValueAsString(fingerprints);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static String storedContent(Project project, String section) {
+        return switch (section) {
+            case "세부계획" -> project.getDetailedPlan();
+            case "월별추진계획" -> project.getMonthlyPlan();
+            case "기대효과" -> project.getExpectedEffect();
+            default -> null;
+        };
+    }
+
+    private static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.businessplan.service;
+
+import com.example.businessplan.entity.Project;
+import com.example.businessplan.entity.ProjectStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@RequiredArgsConstructor
+public class PlanStreamingService {
+
+    private static final long SSE_TIMEOUT_MILLIS = 5 * 60 * 1000L;
+
+    private final ProjectService projectService;
+    private final ProjectStatusService projectStatusService;
+    private final GptService gptService;
+
+    /**
+     * 사업계획서(2페이지)를 생성하면서 토큰을 SSE로 바로 전달한다.
+     * 이벤트: start → token* / section* → done | error
+     * token은 {"t": "..."}, error는 {"message": "..."} JSON으로 보낸다.
+     * (SSE data는 줄바꿈에서 끊기므로 줄바꿈이 들어 있는 토큰을 그대로 보내면 안 됨)
+     * 클라이언트가 연결을 끊어도 생성은 끝까지 진행되어 프로젝트에 저장된다.
+     */
+    public SseEmitter streamFinalPlan(Long projectId) {
+        projectStatusService.assertCanMoveTo(projectId, ProjectStatus.PLAN_GENERATING);
+
+        SseEmitter emitter = new SseEmitter(SSE_TIMEOUT_MILLIS);
+        StreamState state = new StreamState(emitter);
+        emitter.onCompletion(() -> state.clientGone = true);
+        emitter.onTimeout(() -> state.clientGone = true);
+        emitter.onError(e -> state.clientGone = true);
+
+        ProjectService.PlanSnapshot snapshot = projectService.startPlanGeneration(projectId);
+        state.send("start", Map.of("projectId", projectId));
+
+        StringBuilder fullText = new StringBuilder();
+        SectionTracker sections = new SectionTracker();
+
+        gptService.streamPage2Content(snapshot.project(), snapshot.answers())
+                .subscribe(
+                        token -> {
+                            fullText.append(token);
+                            state.send("token", Map.of("t", token));
+                            for (String section : sections.accept(token)) {
+                                state.send("section", section);
+                            }
+                        },
+                        error -> {
+                            System.err.println("계획서 스트리밍 실패: " + error.getMessage());
+                            projectService.failPlanGeneration(projectId);
+                            state.send("error", Map.of("message", "사업계획서 생성 실패: " + error.getMessage()));
+                            state.complete();
+                        },
+                        () -> {
+                            for (String section : sections.flush()) {
+                                state.send("section", section);
+                            }
+                            finish(snapshot, fullText.toString(), state);
+                        });
+
+        return emitter;
+    }
+
+    private void finish(ProjectService.PlanSnapshot snapshot, String response, StreamState state) {
+        Long projectId = snapshot.project().getId();
+
+        try {
+            Map<String, String> page2Content = gptService.parsePageContent(response);
+            Project saved = projectService.completePlanGeneration(snapshot, page2Content);
+
+            Map<String, Object> result = new HashMap<>();
+            result.put("success", true);
+            result.put("message", "사업계획서 생성 완료!");
+            result.put("project", saved);
+            state.send("done", result);
+
+        } catch (RuntimeException e) {
+            projectService.failPlanGeneration(projectId);
+            state.send("error", Map.of("message", "사업계획서 저장 실패: " + e.getMessage()));
+        }
+
+        state.complete();
+    }
+
+    private static class StreamState {
+        private final SseEmitter emitter;
+        private volatile boolean clientGone;
+
+        StreamState(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void send(String name, Object data) {
+            if (clientGone) return;
+
+            try {
+                emitter.send(SseEmitter.event().name(name).data(data));
+            } catch (IOException | IllegalStateException e) {
+                // 연결이 끊겨도 생성 결과는 저장되도록 스트림은 계속 소비한다
+                clientGone = true;
+            }
+        }
+
+        void complete() {
+            if (!clientGone) {
+                emitter.complete();
+            }
+        }
+    }
+
+    // [세부계획] 같은 섹션 헤더가 한 줄로 완성되는 시점을 찾는다 (parsePageContent와 같은 규칙)
+    private static class SectionTracker {
+        private final StringBuilder line = new StringBuilder();
+
+        List<String> accept(String token) {
+            List<String> found = new ArrayList<>();
+
+            for (int i = 0; i < token.length(); i++) {
+                char c = token.charAt(i);
+                if (c == '\n') {
+                    checkLine(found);
+                    line.setLength(0);
+                } else {
+                    line.append(c);
+                }
+            }
+            return found;
+        }
+
+        List<String> flush() {
+            List<String> found = new ArrayList<>();
+            checkLine(found);
+            line.setLength(0);
+            return found;
+        }
+
+        private void checkLine(List<String> found) {
+            String trimmed = line.toString().trim();
+            if (trimmed.length() > 2 && trimmed.startsWith("[") && trimmed.endsWith("]")) {
+                found.add(trimmed.substring(1, trimmed.length() - 1));
+            }
+        }
+    }
+}
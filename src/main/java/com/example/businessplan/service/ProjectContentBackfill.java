@@ -0,0 +1,112 @@
+package com.example.businessplan.service;
+
+import com.example.businessplan.entity.Project;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * 본문이 projects 테이블에 있던 시절의 행을 project_contents로 옮긴다.
+ * (ddl-auto=update로 유지되는 DB에는 예전 TEXT 컬럼이 남아 있고 content_id는 비어 있음)
+ * 시작할 때 한 번, content_id가 없는 행만 처리하므로 여러 번 실행돼도 안전하다. 예전 컬럼은 지우지 않는다.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProjectContentBackfill {
+
+    private static final int CHUNK_SIZE = 100;
+
+    // 분리 전 projects 테이블의 본문 컬럼
+    private static final List<String> LEGACY_COLUMNS = List.of(
+            "budget_details", "detailed_plan", "monthly_plan", "expected_effect", "section_fingerprints");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        try {
+            int moved = backfill();
+            if (moved > 0) {
+                System.out.println("프로젝트 본문 이전 완료: " + moved + "건");
+            }
+        } catch (RuntimeException e) {
+            // 이전에 실패해도 서비스는 뜨게 한다 (본문이 없는 프로젝트로 보임)
+            System.err.println("프로젝트 본문 이전 실패: " + e.getMessage());
+        }
+    }
+
+    public int backfill() {
+        Set<String> columns = legacyColumns();
+        if (columns.isEmpty()) {
+            return 0;
+        }
+
+        StringBuilder select = new StringBuilder("select id");
+        for (String column : LEGACY_COLUMNS) {
+            select.append(", ").append(columns.contains(column) ? column : "null").append(" as ").append(column);
+        }
+        select.append(" from projects where content_id is null and id in (%s)");
+
+        List<Long> ids = jdbcTemplate.queryForList("select id from projects where content_id is null order by id", Long.class);
+        int moved = 0;
+        for (int from = 0; from < ids.size(); from += CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(ids.size(), from + CHUNK_SIZE));
+            String placeholders = String.join(",", chunk.stream().map(id -> "?").toList());
+            // TEXT는 DB에 따라 CLOB으로 오므로 getString으로 읽는다
+            List<LegacyContent> rows = jdbcTemplate.query(select.toString().formatted(placeholders),
+                    (rs, rowNum) -> new LegacyContent(rs.getLong("id"),
+                            rs.getString("budget_details"), rs.getString("detailed_plan"), rs.getString("monthly_plan"),
+                            rs.getString("expected_effect"), rs.getString("section_fingerprints")),
+                    chunk.toArray());
+
+            List<LegacyContent> filled = rows.stream().filter(LegacyContent::hasAny).toList();
+            // 시퀀스 ID와 버전 증가는 JPA에 맡긴다
+            transactionTemplate.executeWithoutResult(status -> {
+                for (LegacyContent row : filled) {
+                    Project project = entityManager.find(Project.class, row.id());
+                    project.setBudgetDetails(row.budgetDetails());
+                    project.setDetailedPlan(row.detailedPlan());
+                    project.setMonthlyPlan(row.monthlyPlan());
+                    project.setExpectedEffect(row.expectedEffect());
+                    project.setSectionFingerprints(row.sectionFingerprints());
+                }
+            });
+            moved += filled.size();
+        }
+        return moved;
+    }
+
+    private Set<String> legacyColumns() {
+        List<String> names = jdbcTemplate.queryForList(
+                "select column_name from information_schema.columns where lower(table_name) = 'projects'", String.class);
+
+        Set<String> present = new HashSet<>();
+        for (String name : names) {
+            String column = name.toLowerCase(Locale.ROOT);
+            if (LEGACY_COLUMNS.contains(column)) {
+                present.add(column);
+            }
+        }
+        return present;
+    }
+
+    // 본문이 하나도 없던 행은 그대로 둔다 (content가 null이면 본문 없음으로 읽힘)
+    private record LegacyContent(Long id, String budgetDetails, String detailedPlan, String monthlyPlan,
+                                 String expectedEffect, String sectionFingerprints) {
+        boolean hasAny() {
+            return budgetDetails != null || detailedPlan != null || monthlyPlan != null
+                    || expectedEffect != null || sectionFingerprints != null;
+        }
+    }
+}
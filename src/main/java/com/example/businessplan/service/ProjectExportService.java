@@ -0,0 +1,195 @@
+package com.example.businessplan.service;
+
+import com.example.businessplan.entity.Project;
+import com.example.businessplan.repository.ProjectRepository;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * 여러 프로젝트의 사업계획서/사업비 파일을 ZIP 하나로 내보낸다.
+ * 프로젝트별 렌더링은 exportExecutor에서 병렬로 하고, 끝나는 순서대로 ZIP 엔트리를 응답에 쓴다.
+ * 동시에 진행 중인 프로젝트 수를 제한하므로 메모리는 프로젝트 수와 관계없이 일정하다.
+ */
+@Service
+public class ProjectExportService {
+
+    public static final Set<String> FORMATS = Set.of("docx", "xlsx", "pdf");
+
+    private final ProjectRepository projectRepository;
+    private final DocumentGenerationService documentGenerationService;
+    private final ExcelGenerationService excelGenerationService;
+    private final PdfGenerationService pdfGenerationService;
+    private final RenderCache renderCache;
+    private final ExecutorService exportExecutor;
+    private final ObservationRegistry observationRegistry;
+    private final int maxInFlight;
+
+    public ProjectExportService(ProjectRepository projectRepository,
+                                DocumentGenerationService documentGenerationService,
+                                ExcelGenerationService excelGenerationService,
+                                PdfGenerationService pdfGenerationService,
+                                RenderCache renderCache,
+                                @Qualifier("exportExecutor") ExecutorService exportExecutor,
+                                ObservationRegistry observationRegistry,
+                                @Value("${export.max-in-flight:0}") int maxInFlight) {
+        this.projectRepository = projectRepository;
+        this.documentGenerationService = documentGenerationService;
+        this.excelGenerationService = excelGenerationService;
+        this.pdfGenerationService = pdfGenerationService;
+        this.renderCache = renderCache;
+        this.exportExecutor = exportExecutor;
+        this.observationRegistry = observationRegistry;
+        this.maxInFlight = maxInFlight > 0 ? maxInFlight : Runtime.getRuntime().availableProcessors() * 2;
+    }
+
+    public List<Long> findProjectIds(Collection<Long> ids, Collection<String> statuses, LocalDate from, LocalDate to) {
+        boolean filterIds = ids != null && !ids.isEmpty();
+        boolean filterStatuses = statuses != null && !statuses.isEmpty();
+
+        return projectRepository.findIdsForExport(
+                filterIds, filterIds ? ids : List.of(0L),
+                filterStatuses, filterStatuses ? statuses : List.of(""),
+                from != null ? from.atStartOfDay() : LocalDateTime.of(1970, 1, 1, 0, 0),
+                to != null ? to.plusDays(1).atStartOfDay() : LocalDateTime.of(9999, 1, 1, 0, 0));
+    }
+
+    // out은 닫지 않는다 (ZIP 끝만 쓰고 flush)
+    public void writeZip(List<Long> projectIds, Set<String> formats, OutputStream out) throws IOException {
+        Observation.createNotStarted("document.export", observationRegistry)
+                .highCardinalityKeyValue("projects", String.valueOf(projectIds.size()))
+                .observeChecked(() -> {
+                    streamZip(projectIds, formats, out);
+                    return null;
+                });
+    }
+
+    private void streamZip(List<Long> projectIds, Set<String> formats, OutputStream out) throws IOException {
+        ZipOutputStream zip = new ZipOutputStream(out, StandardCharsets.UTF_8);
+        CompletionService<Rendered> completion = new ExecutorCompletionService<>(exportExecutor);
+        Map<String, String> errors = new LinkedHashMap<>();
+        // 아직 끝나지 않은 작업만 들고 있는다 (끝난 결과는 쓰고 바로 놓아줌)
+        Set<Future<Rendered>> inFlight = new HashSet<>();
+
+        Iterator<Long> remaining = projectIds.iterator();
+        try {
+            while (remaining.hasNext() || !inFlight.isEmpty()) {
+                while (remaining.hasNext() && inFlight.size() < maxInFlight) {
+                    Long projectId = remaining.next();
+                    inFlight.add(completion.submit(() -> render(projectId, formats)));
+                }
+
+                Future<Rendered> done = completion.take();
+                inFlight.remove(done);
+                Rendered rendered = done.get();
+
+                for (Map.Entry<String, byte[]> file : rendered.files().entrySet()) {
+                    zip.putNextEntry(new ZipEntry(file.getKey()));
+                    zip.write(file.getValue());
+                    zip.closeEntry();
+                }
+                if (rendered.error() != null) {
+                    errors.put("프로젝트 " + rendered.projectId(), rendered.error());
+                }
+                // 받는 쪽이 바로 받을 수 있게 엔트리 단위로 내보낸다
+                zip.flush();
+            }
+
+            if (!errors.isEmpty()) {
+                StringBuilder report = new StringBuilder();
+                errors.forEach((project, message) -> report.append(project).append(": ").append(message).append('\n'));
+                zip.putNextEntry(new ZipEntry("errors.txt"));
+                zip.write(report.toString().getBytes(StandardCharsets.UTF_8));
+                zip.closeEntry();
+            }
+            zip.finish();
+            zip.flush();
+
+            System.out.println("일괄 내보내기 완료: " + projectIds.size() + "개 프로젝트, 실패 " + errors.size() + "개");
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("일괄 내보내기가 중단되었습니다", e);
+        } catch (ExecutionException e) {
+            throw new IOException("일괄 내보내기 실패", e.getCause());
+        } finally {
+            // 클라이언트가 끊겼으면 남은 렌더링은 취소
+            inFlight.forEach(future -> future.cancel(true));
+        }
+    }
+
+    // 프로젝트 하나의 파일들을 메모리에 렌더링 (렌더 캐시에 있으면 그대로 사용)
+    private Rendered render(Long projectId, Set<String> formats) {
+        Map<String, byte[]> files = new LinkedHashMap<>();
+        try {
+            Project project = projectRepository.findWithContentById(projectId).orElse(null);
+            if (project == null) {
+                return new Rendered(projectId, files, "프로젝트를 찾을 수 없습니다");
+            }
+
+            String baseName = projectId + "_" + safeFileName(project.getProjectName());
+
+            if (formats.contains("docx")) {
+                files.put(baseName + "_사업계획서.docx",
+                        render(project, "docx", out -> documentGenerationService.writeDocx(project, out)));
+            }
+            if (formats.contains("pdf")) {
+                files.put(baseName + "_사업계획서.pdf",
+                        render(project, "pdf", out -> pdfGenerationService.writePdf(project, out)));
+            }
+            if (formats.contains("xlsx") && project.getBudgetDetails() != null && !project.getBudgetDetails().isEmpty()) {
+                String budgetDetails = project.getBudgetDetails();
+                files.put(baseName + "_사업비산출내역.xlsx",
+                        render(project, "xlsx", out -> excelGenerationService.writeBudgetExcel(BudgetTable.fromJson(budgetDetails), out)));
+            }
+            return new Rendered(projectId, files, null);
+
+        } catch (Exception e) {
+            System.err.println("내보내기 렌더링 실패 (프로젝트 ID: " + projectId + "): " + e.getMessage());
+            return new Rendered(projectId, files, e.getMessage());
+        }
+    }
+
+    // 내보내기는 한 번씩만 받으므로 캐시를 읽기만 하고 채우지는 않는다 (다운로드용 항목을 밀어내지 않게)
+    private byte[] render(Project project, String format, RenderCache.Renderer renderer) throws IOException {
+        byte[] cached = renderCache.get(project, format);
+        if (cached != null) {
+            return cached;
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        renderer.render(out);
+        return out.toByteArray();
+    }
+
+    private static String safeFileName(String name) {
+        if (name == null || name.isBlank()) return "이름없음";
+        return name.replaceAll("[\\\\/:*?\"<>|\\p{Cntrl}]", "_").trim();
+    }
+
+    private record Rendered(Long projectId, Map<String, byte[]> files, String error) {
+    }
+}
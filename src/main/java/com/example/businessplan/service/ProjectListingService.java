@@ -0,0 +1,132 @@
+package com.example.businessplan.service;
+
+import com.example.businessplan.repository.ProjectRepository;
+import com.example.businessplan.repository.ProjectSummary;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 프로젝트 목록 (요약만, 페이지 단위).
+ * - 페이지 번호 방식: page/size/sort, 전체 개수 포함
+ * - 커서 방식: (createdAt, id) 최신순, 다음 페이지 커서만 돌려줌 (전체 개수를 세지 않으므로 뒤 페이지도 빠름)
+ */
+@Service
+@RequiredArgsConstructor
+public class ProjectListingService {
+
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private static final Set<String> SORT_FIELDS = Set.of(
+            "id", "createdAt", "updatedAt", "projectName", "communityName", "totalBudget", "status");
+
+    private final ProjectRepository projectRepository;
+
+    @Transactional(readOnly = true)
+    public Map<String, Object> findPage(String status, String community, int page, int size, String sort) {
+        if (page < 0) {
+            throw new RuntimeException("page는 0 이상이어야 합니다");
+        }
+
+        Page<ProjectSummary> result = projectRepository.findSummaries(
+                blankToNull(status), blankToNull(community), PageRequest.of(page, pageSize(size), parseSort(sort)));
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("items", result.getContent());
+        response.put("page", result.getNumber());
+        response.put("size", result.getSize());
+        response.put("totalElements", result.getTotalElements());
+        response.put("totalPages", result.getTotalPages());
+        response.put("hasNext", result.hasNext());
+        return response;
+    }
+
+    // cursor가 비어 있으면 첫 페이지
+    @Transactional(readOnly = true)
+    public Map<String, Object> findAfterCursor(String status, String community, String cursor, int size) {
+        int pageSize = pageSize(size);
+        Cursor after = cursor == null || cursor.isBlank() ? null : Cursor.decode(cursor);
+
+        // 한 행 더 읽어서 다음 페이지가 있는지 판단
+        PageRequest limit = PageRequest.ofSize(pageSize + 1);
+        List<ProjectSummary> rows = after == null
+                ? projectRepository.findLatestSummaries(blankToNull(status), blankToNull(community), limit)
+                : projectRepository.findSummariesBefore(blankToNull(status), blankToNull(community),
+                        after.createdAt(), after.id(), limit);
+
+        boolean hasNext = rows.size() > pageSize;
+        List<ProjectSummary> items = hasNext ? rows.subList(0, pageSize) : rows;
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("items", items);
+        response.put("size", pageSize);
+        response.put("hasNext", hasNext);
+        response.put("nextCursor", hasNext ? Cursor.of(items.get(items.size() - 1)).encode() : null);
+        return response;
+    }
+
+    private static int pageSize(int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new RuntimeException("size는 1~" + MAX_PAGE_SIZE + " 사이여야 합니다");
+        }
+        return size;
+    }
+
+    // "createdAt,desc" 형식. 같은 값끼리 순서가 흔들리지 않게 id를 마지막 정렬 기준으로 붙인다
+    static Sort parseSort(String sort) {
+        if (sort == null || sort.isBlank()) {
+            return Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"));
+        }
+
+        String[] parts = sort.split(",");
+        String field = parts[0].trim();
+        if (!SORT_FIELDS.contains(field)) {
+            throw new RuntimeException("정렬할 수 없는 항목입니다: " + field);
+        }
+        Sort.Direction direction = parts.length > 1 && parts[1].trim().equalsIgnoreCase("asc")
+                ? Sort.Direction.ASC
+                : Sort.Direction.DESC;
+
+        Sort result = Sort.by(direction, field);
+        return field.equals("id") ? result : result.and(Sort.by(direction, "id"));
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    // 마지막 행의 (createdAt, id)를 URL에 그대로 쓸 수 있게 base64url로 감싼다
+    record Cursor(LocalDateTime createdAt, Long id) {
+
+        static Cursor of(ProjectSummary summary) {
+            return new Cursor(summary.createdAt(), summary.id());
+        }
+
+        String encode() {
+            String raw = createdAt + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Cursor decode(String value) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+                int separator = raw.lastIndexOf('|');
+                return new Cursor(LocalDateTime.parse(raw.substring(0, separator)),
+                        Long.parseLong(raw.substring(separator + 1)));
+            } catch (RuntimeException e) {
+                throw new RuntimeException("잘못된 커서입니다");
+            }
+        }
+    }
+}
@@ -3,16 +3,29 @@ package com.example.businessplan.service;
 import com.example.businessplan.entity.Project;
 import com.example.businessplan.entity.Question;
 import com.example.businessplan.entity.Answer;
+import com.example.businessplan.entity.ProjectStatus;
+import com.example.businessplan.job.ProgressListener;
 import com.example.businessplan.repository.ProjectRepository;
 import com.example.businessplan.repository.QuestionRepository;
 import com.example.businessplan.repository.AnswerRepository;
+import com.example.businessplan.llm.LlmTaskRunner;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -20,53 +33,111 @@ import java.util.regex.Pattern;
 @RequiredArgsConstructor
 public class ProjectService {
 
+    private static final Pattern NUMBERED_QUESTION = Pattern.compile("(\\d+)\\.\\s*(.+)");
+
     private final ProjectRepository projectRepository;
     private final QuestionRepository questionRepository;
     private final AnswerRepository answerRepository;
     private final GptService gptService;
     private final BudgetValidationService budgetValidationService;
+    private final LlmTaskRunner llmTaskRunner;
+    private final ProjectStatusService projectStatusService;
+    private final AnswerExpansionService answerExpansionService;
+    private final TransactionTemplate transactionTemplate;
+    private final ObservationRegistry observationRegistry;
 
-    @Transactional
+    // combined: 세 섹션 질문을 JSON 한 번으로 생성 / per-section: 섹션별 3회 호출
+    @Value("${llm.questions.mode:combined}")
+    private String questionMode;
+
+    // single: 2페이지 세 섹션을 한 번에 생성 / per-section: 섹션별 호출을 동시에 실행
+    @Value("${llm.page2.mode:single}")
+    private String page2Mode;
+
+    // LLM 호출은 트랜잭션 밖에서 실행하고, 저장은 짧은 트랜잭션으로 나눈다
     public Project createProjectWithQuestions(Project project) {
 
-        project.setStatus("질문생성중");
+        projectStatusService.changeStatus(project, ProjectStatus.QUESTIONS_GENERATING);
         Project savedProject = projectRepository.save(project);
 
-        String detailedQuestions = gptService.generateDetailedPlanQuestions(
-                project.getProjectName(), project.getProjectLocation());
+        return observe("project.questions", savedProject.getId(), () -> generateAndSaveQuestions(savedProject));
+    }
 
-        String monthlyQuestions = gptService.generateMonthlyPlanQuestions(
-                project.getProjectName(), project.getProjectPeriod());
+    private Project generateAndSaveQuestions(Project snapshot) {
+        Long projectId = snapshot.getId();
 
-        String effectQuestions = gptService.generateExpectedEffectQuestions(
-                project.getProjectName());
+        try {
+            Map<String, List<String>> sectionQuestions = requestSectionQuestions(snapshot);
 
-        saveQuestions(savedProject, "세부계획", detailedQuestions);
-        saveQuestions(savedProject, "월별추진계획", monthlyQuestions);
-        saveQuestions(savedProject, "기대효과", effectQuestions);
+            return transactionTemplate.execute(status -> {
+                Project project = findProject(projectId);
+                verifyUnchanged(project, snapshot.getVersion());
 
-        savedProject.setStatus("질문답변대기");
-        projectRepository.save(savedProject);
+                saveQuestions(project, sectionQuestions);
 
-        return savedProject;
+                projectStatusService.changeStatus(project, ProjectStatus.AWAITING_ANSWERS);
+                return projectRepository.save(project);
+            });
+
+        } catch (RuntimeException e) {
+            System.err.println("질문 생성 실패 (프로젝트 ID: " + projectId + "): " + e.getMessage());
+            projectStatusService.transition(projectId, ProjectStatus.QUESTIONS_FAILED);
+            throw new QuestionGenerationException(e.getMessage(), e);
+        }
     }
 
-    private void saveQuestions(Project project, String section, String questionsText) {
-        Pattern pattern = Pattern.compile("(\\d+)\\.\\s*(.+)");
-        Matcher matcher = pattern.matcher(questionsText);
+    // 기본(combined)은 JSON 한 번 호출, 실패하거나 per-section 모드면 섹션별 3회 호출
+    private Map<String, List<String>> requestSectionQuestions(Project snapshot) {
+        String projectName = snapshot.getProjectName();
+        String projectLocation = snapshot.getProjectLocation();
+        String projectPeriod = snapshot.getProjectPeriod();
+
+        if ("combined".equals(questionMode)) {
+            try {
+                return gptService.generateAllSectionQuestions(projectName, projectLocation, projectPeriod);
+            } catch (RuntimeException e) {
+                System.err.println("통합 질문 생성 실패, 섹션별 생성으로 대체: " + e.getMessage());
+            }
+        }
 
-        int order = 1;
-        while (matcher.find()) {
-            String questionText = matcher.group(2).trim();
+        // 세 섹션 질문을 동시에 생성 (전체 소요시간 = 가장 느린 호출 1회)
+        Map<String, Callable<String>> calls = new LinkedHashMap<>();
+        calls.put("세부계획", () -> gptService.generateDetailedPlanQuestions(projectName, projectLocation));
+        calls.put("월별추진계획", () -> gptService.generateMonthlyPlanQuestions(projectName, projectPeriod));
+        calls.put("기대효과", () -> gptService.generateExpectedEffectQuestions(projectName));
+
+        Map<String, List<String>> sectionQuestions = new LinkedHashMap<>();
+        llmTaskRunner.invokeAll(calls)
+                .forEach((section, questionsText) -> sectionQuestions.put(section, parseNumberedQuestions(questionsText)));
+        return sectionQuestions;
+    }
 
-            Question question = new Question();
-            question.setProject(project);
-            question.setSection(section);
-            question.setQuestionText(questionText);
-            question.setOrderNum(order++);
+    private List<String> parseNumberedQuestions(String questionsText) {
+        List<String> questions = new ArrayList<>();
+        Matcher matcher = NUMBERED_QUESTION.matcher(questionsText);
 
-            questionRepository.save(question);
+        while (matcher.find()) {
+            questions.add(matcher.group(2).trim());
         }
+        return questions;
+    }
+
+    private void saveQuestions(Project project, Map<String, List<String>> sectionQuestions) {
+        List<Question> questions = new ArrayList<>();
+
+        sectionQuestions.forEach((section, questionTexts) -> {
+            int order = 1;
+            for (String questionText : questionTexts) {
+                Question question = new Question();
+                question.setProject(project);
+                question.setSection(section);
+                question.setQuestionText(questionText);
+                question.setOrderNum(order++);
+                questions.add(question);
+            }
+        });
+
+        questionRepository.saveAll(questions);
     }
 
     @Transactional
@@ -81,74 +152,227 @@ public class ProjectService {
         return answerRepository.save(answer);
     }
 
+    // 여러 답변을 한 번에 저장 (질문은 한 번에 읽고, INSERT는 배치로)
     @Transactional
-    public void expandAllAnswers(Long projectId) {
-        List<Answer> answers = answerRepository.findByQuestionProjectId(projectId);
-
-        for (Answer answer : answers) {
-            if (answer.getAiGeneratedText() == null) {
-                String expanded = gptService.expandAnswer(
-                        answer.getQuestion().getQuestionText(),
-                        answer.getUserAnswer(),
-                        answer.getQuestion().getSection()
-                );
-
-                answer.setAiGeneratedText(expanded);
-                answerRepository.save(answer);
+    public List<Answer> saveAnswers(Long projectId, Map<Long, String> userAnswers) {
+        Map<Long, Question> questions = new HashMap<>();
+        questionRepository.findByProjectIdOrderByOrderNum(projectId)
+                .forEach(question -> questions.put(question.getId(), question));
+
+        List<Answer> answers = new ArrayList<>();
+        userAnswers.forEach((questionId, userAnswer) -> {
+            Question question = questions.get(questionId);
+            if (question == null) {
+                throw new RuntimeException("이 프로젝트의 질문이 아닙니다: " + questionId);
             }
+
+            Answer answer = new Answer();
+            answer.setQuestion(question);
+            answer.setUserAnswer(userAnswer);
+            answers.add(answer);
+        });
+
+        return answerRepository.saveAll(answers);
+    }
+
+    public void expandAllAnswers(Long projectId) {
+        expandAllAnswers(projectId, ProgressListener.NONE);
+    }
+
+    // 트랜잭션 없이 실행: 확장된 답변은 각각 즉시 커밋된다
+    // 같은 프로젝트의 중복 요청은 JobService.submitOrJoin이 한 작업으로 합친다
+    public void expandAllAnswers(Long projectId, ProgressListener progress) {
+        observe("project.expand", projectId, () -> {
+            runExpansion(projectId, progress);
+            return Boolean.TRUE;
+        });
+    }
+
+    private void runExpansion(Long projectId, ProgressListener progress) {
+        projectStatusService.transition(projectId, ProjectStatus.EXPANDING);
+
+        try {
+            List<AnswerExpansionService.ExpansionTask> tasks = answerExpansionService.findPendingExpansions(projectId);
+            System.out.println("답변 확장 시작: " + tasks.size() + "건 (프로젝트 ID: " + projectId + ")");
+
+            answerExpansionService.expandAll(tasks, progress);
+
+        } catch (RuntimeException e) {
+            projectStatusService.transition(projectId, ProjectStatus.EXPANSION_FAILED);
+            throw e;
         }
+
+        projectStatusService.transition(projectId, ProjectStatus.EXPANDED);
     }
 
-    @Transactional
+    // 중복 요청은 JobService.submitOrJoin이 합치고, 작업 밖의 스트리밍 생성은 상태 전이(PLAN_GENERATING)가 막는다
     public Project generateFinalPlan(Long projectId) {
+        return observe("project.plan", projectId, () -> runFinalPlan(projectId));
+    }
+
+    private Project runFinalPlan(Long projectId) {
         System.out.println("=== 최종 계획서 생성 시작 ===");
         System.out.println("프로젝트 ID: " + projectId);
 
-        Project project = projectRepository.findById(projectId)
-                .orElseThrow(() -> new RuntimeException("프로젝트를 찾을 수 없습니다"));
+        PlanSnapshot snapshot = startPlanGeneration(projectId);
 
-        List<Answer> answers = answerRepository.findByQuestionProjectId(projectId);
+        try {
+            System.out.println("답변 개수: " + snapshot.answers().size());
 
-        System.out.println("답변 개수: " + answers.size());
+            Map<String, String> page2Content = generateChangedSections(snapshot);
 
-        Map<String, String> page2Content = gptService.generatePage2Content(project, answers);
+            Project saved = completePlanGeneration(snapshot, page2Content);
 
-        project.setDetailedPlan(page2Content.get("세부계획"));
-        project.setMonthlyPlan(page2Content.get("월별추진계획"));
-        project.setExpectedEffect(page2Content.get("기대효과"));
-        project.setStatus("완료");
+            System.out.println("=== 생성 완료 ===");
+            System.out.println("세부계획 길이: " + (saved.getDetailedPlan() != null ? saved.getDetailedPlan().length() : 0));
+            System.out.println("월별계획 길이: " + (saved.getMonthlyPlan() != null ? saved.getMonthlyPlan().length() : 0));
+            System.out.println("기대효과 길이: " + (saved.getExpectedEffect() != null ? saved.getExpectedEffect().length() : 0));
 
-        System.out.println("=== 생성 완료 ===");
-        System.out.println("세부계획 길이: " + (project.getDetailedPlan() != null ? project.getDetailedPlan().length() : 0));
-        System.out.println("월별계획 길이: " + (project.getMonthlyPlan() != null ? project.getMonthlyPlan().length() : 0));
-        System.out.println("기대효과 길이: " + (project.getExpectedEffect() != null ? project.getExpectedEffect().length() : 0));
+            return saved;
 
-        return projectRepository.save(project);
+        } catch (RuntimeException e) {
+            failPlanGeneration(projectId);
+            throw e;
+        }
     }
 
-    @Transactional
-    public void generateQuestionsForProject(Project project) {
-        System.out.println("=== 질문 생성 시작 (프로젝트 ID: " + project.getId() + ") ===");
+    // 입력이 바뀐 섹션만 다시 생성하고 나머지는 저장된 내용을 재사용한다
+    private Map<String, String> generateChangedSections(PlanSnapshot snapshot) {
+        Project project = snapshot.project();
+        Map<String, String> current = PlanFingerprints.compute(project, snapshot.answers());
+        Map<String, String> stored = PlanFingerprints.read(project);
+
+        Map<String, String> content = new LinkedHashMap<>();
+        List<String> changed = new ArrayList<>();
+        for (String section : GptService.QUESTION_SECTIONS) {
+            String existing = PlanFingerprints.storedContent(project, section);
+            if (existing != null && !existing.isBlank() && current.get(section).equals(stored.get(section))) {
+                content.put(section, existing);
+            } else {
+                changed.add(section);
+            }
+        }
 
-        project.setStatus("질문생성중");
-        projectRepository.save(project);
+        System.out.println("다시 생성할 섹션: " + changed + " (재사용 " + content.keySet() + ")");
 
-        String detailedQuestions = gptService.generateDetailedPlanQuestions(
-                project.getProjectName(), project.getProjectLocation());
+        if (changed.size() == GptService.QUESTION_SECTIONS.size() && !"per-section".equals(page2Mode)) {
+            return gptService.generatePage2Content(project, snapshot.answers());
+        }
 
-        String monthlyQuestions = gptService.generateMonthlyPlanQuestions(
-                project.getProjectName(), project.getProjectPeriod());
+        // 바뀐 섹션을 동시에 생성 (전체 소요시간 = 가장 긴 섹션 1회)
+        Map<String, Callable<String>> calls = new LinkedHashMap<>();
+        for (String section : changed) {
+            calls.put(section, () -> gptService.generateSectionContent(project, snapshot.answers(), section));
+        }
+        content.putAll(llmTaskRunner.invokeAll(calls));
 
-        String effectQuestions = gptService.generateExpectedEffectQuestions(
-                project.getProjectName());
+        Map<String, String> ordered = new LinkedHashMap<>();
+        GptService.QUESTION_SECTIONS.forEach(section -> ordered.put(section, content.get(section)));
+        return ordered;
+    }
+
+    // 계획서 생성 1단계: 상태를 '계획서생성중'으로 바꾸고 LLM 입력을 읽어온다 (짧은 트랜잭션)
+    public PlanSnapshot startPlanGeneration(Long projectId) {
+        projectStatusService.transition(projectId, ProjectStatus.PLAN_GENERATING);
+
+        try {
+            return transactionTemplate.execute(status -> {
+                Project project = findProject(projectId);
+                // 질문까지 함께 읽어 두므로 트랜잭션 밖에서도 쓸 수 있다
+                List<Answer> answers = answerRepository.findWithQuestionByProjectId(projectId);
+                return new PlanSnapshot(project, answers);
+            });
+        } catch (RuntimeException e) {
+            failPlanGeneration(projectId);
+            throw e;
+        }
+    }
+
+    // 계획서 생성 2단계: LLM 결과 저장 (짧은 트랜잭션, 버전 확인)
+    public Project completePlanGeneration(PlanSnapshot snapshot, Map<String, String> page2Content) {
+        Long projectId = snapshot.project().getId();
+
+        return transactionTemplate.execute(status -> {
+            Project project = findProject(projectId);
+            verifyUnchanged(project, snapshot.project().getVersion());
+
+            project.setDetailedPlan(page2Content.get("세부계획"));
+            project.setMonthlyPlan(page2Content.get("월별추진계획"));
+            project.setExpectedEffect(page2Content.get("기대효과"));
+
+            // 실제로 내용이 채워진 섹션만 지문을 남긴다 (비어 있으면 다음 번에 다시 생성)
+            Map<String, String> fingerprints = new LinkedHashMap<>();
+            PlanFingerprints.compute(snapshot.project(), snapshot.answers()).forEach((section, fingerprint) -> {
+                String text = page2Content.get(section);
+                if (text != null && !text.isBlank()) {
+                    fingerprints.put(section, fingerprint);
+                }
+            });
+            project.setSectionFingerprints(PlanFingerprints.write(fingerprints));
+            projectStatusService.changeStatus(project, ProjectStatus.COMPLETED);
+            return projectRepository.save(project);
+        });
+    }
+
+    public void failPlanGeneration(Long projectId) {
+        try {
+            projectStatusService.transition(projectId, ProjectStatus.PLAN_FAILED);
+        } catch (RuntimeException e) {
+            System.err.println("실패 상태 기록 실패 (프로젝트 ID: " + projectId + "): " + e.getMessage());
+        }
+    }
 
-        saveQuestions(project, "세부계획", detailedQuestions);
-        saveQuestions(project, "월별추진계획", monthlyQuestions);
-        saveQuestions(project, "기대효과", effectQuestions);
+    public Project generateQuestionsForProject(Long projectId) {
+        System.out.println("=== 질문 생성 시작 (프로젝트 ID: " + projectId + ") ===");
 
-        project.setStatus("질문답변대기");
-        projectRepository.save(project);
+        Project snapshot = transactionTemplate.execute(status -> {
+            Project project = findProject(projectId);
+            projectStatusService.changeStatus(project, ProjectStatus.QUESTIONS_GENERATING);
+            return projectRepository.save(project);
+        });
+
+        Project saved = observe("project.questions", projectId, () -> generateAndSaveQuestions(snapshot));
 
         System.out.println("=== 질문 생성 완료 ===");
+        return saved;
+    }
+
+    public record PlanSnapshot(Project project, List<Answer> answers) {
+    }
+
+    // 컨트롤러 → ProjectService → GptService → 문서 생성까지 한 트레이스로 이어지도록 단계별 span을 남긴다
+    private <T> T observe(String name, Long projectId, Supplier<T> work) {
+        return Observation.createNotStarted(name, observationRegistry)
+                .highCardinalityKeyValue("project.id", String.valueOf(projectId))
+                .observe(work);
+    }
+
+    // 생성 단계에서는 본문(기존 섹션, 지문)을 트랜잭션 밖에서도 쓰므로 함께 읽는다
+    private Project findProject(Long projectId) {
+        return projectRepository.findWithContentById(projectId)
+                .orElseThrow(() -> new RuntimeException("프로젝트를 찾을 수 없습니다"));
+    }
+
+    // LLM 호출 중에 프로젝트가 다른 요청으로 바뀌었으면 결과를 저장하지 않는다
+    private void verifyUnchanged(Project current, Long expectedVersion) {
+        if (!Objects.equals(current.getVersion(), expectedVersion)) {
+            throw new ObjectOptimisticLockingFailureException(
+                    "생성 중 프로젝트가 변경되었습니다. 다시 시도해주세요.", null);
+        }
+    }
+
+    // 같은 영속성 컨텍스트에서 프로젝트를 먼저 읽어 질문의 project 참조가 초기화된 상태로 반환
+    @Transactional(readOnly = true)
+    public Map<String, Object> getProjectWithQuestions(Long projectId) {
+        Project project = projectRepository.findWithContentById(projectId)
+                .orElseThrow(() -> new RuntimeException("프로젝트를 찾을 수 없습니다"));
+
+        List<Question> questions = questionRepository.findByProjectIdOrderByOrderNum(projectId);
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("projectId", project.getId());
+        result.put("project", project);
+        result.put("questions", questions);
+        return result;
     }
-}
+}
\ No newline at end of file
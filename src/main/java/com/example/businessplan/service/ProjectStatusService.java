@@ -0,0 +1,68 @@
+package com.example.businessplan.service;
+
+import com.example.businessplan.entity.Project;
+import com.example.businessplan.entity.ProjectStatus;
+import com.example.businessplan.repository.ProjectRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Arrays;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class ProjectStatusService {
+
+    private final ProjectRepository projectRepository;
+
+    public void changeStatus(Project project, ProjectStatus next) {
+        checkTransition(project, next);
+        project.setStatus(next.getLabel());
+    }
+
+    @Transactional(readOnly = true)
+    public void assertCanMoveTo(Long projectId, ProjectStatus next) {
+        checkTransition(findProject(projectId), next);
+    }
+
+    // 호출한 쪽 트랜잭션과 무관하게 즉시 커밋 (진행/실패 상태가 롤백되지 않도록)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void transition(Long projectId, ProjectStatus next) {
+        Project project = findProject(projectId);
+        changeStatus(project, next);
+        projectRepository.save(project);
+    }
+
+    // 서버 재시작으로 중단된 작업은 실패 상태로 돌려 재시도할 수 있게 한다
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void recoverInterruptedProjects() {
+        List<String> inProgress = Arrays.stream(ProjectStatus.values())
+                .filter(ProjectStatus::isInProgress)
+                .map(ProjectStatus::getLabel)
+                .toList();
+
+        for (Project project : projectRepository.findByStatusIn(inProgress)) {
+            ProjectStatus current = ProjectStatus.fromLabel(project.getStatus());
+            project.setStatus(current.failureStatus().getLabel());
+            System.out.println("중단된 작업 복구: 프로젝트 " + project.getId() + " → " + project.getStatus());
+        }
+    }
+
+    private void checkTransition(Project project, ProjectStatus next) {
+        ProjectStatus current = ProjectStatus.fromLabel(project.getStatus());
+        if (!current.canMoveTo(next)) {
+            throw new IllegalStateException(String.format(
+                    "현재 상태(%s)에서는 '%s' 상태로 변경할 수 없습니다", current.getLabel(), next.getLabel()));
+        }
+    }
+
+    private Project findProject(Long projectId) {
+        return projectRepository.findById(projectId)
+                .orElseThrow(() -> new RuntimeException("프로젝트를 찾을 수 없습니다"));
+    }
+}
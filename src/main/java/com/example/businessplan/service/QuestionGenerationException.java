@@ -0,0 +1,8 @@
+package com.example.businessplan.service;
+
+public class QuestionGenerationException extends RuntimeException {
+
+    public QuestionGenerationException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
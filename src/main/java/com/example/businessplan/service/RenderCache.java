@@ -0,0 +1,180 @@
+package com.example.businessplan.service;
+
+import com.example.businessplan.entity.Project;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 다운로드 파일(docx/xlsx 등) 렌더링 결과 캐시.
+ * 키는 (프로젝트 ID, 버전, 형식)이라 프로젝트가 수정되면 자동으로 새 키가 되고,
+ * 수정 시점(@PreUpdate)에는 예전 버전 항목을 지워 메모리만 돌려받는다.
+ * 전체 크기(render.cache.max-bytes)를 넘으면 가장 오래 안 쓴 항목부터 버린다.
+ */
+@Component
+public class RenderCache {
+
+    // 렌더링 코드(양식)를 바꾸면 올려서 기존 ETag를 모두 무효화
+    private static final String RENDER_VERSION = "r2";
+
+    public interface Renderer {
+        void render(OutputStream out) throws IOException;
+    }
+
+    private final long maxBytes;
+    private final long maxEntryBytes;
+
+    private final LinkedHashMap<String, byte[]> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public RenderCache(@Value("${render.cache.max-bytes:33554432}") long maxBytes,
+                       @Value("${render.cache.max-entry-bytes:4194304}") long maxEntryBytes) {
+        this.maxBytes = Math.max(0, maxBytes);
+        this.maxEntryBytes = Math.min(this.maxBytes, Math.max(0, maxEntryBytes));
+    }
+
+    // 같은 버전이면 같은 내용이 나오므로 버전 기반의 강한 ETag를 쓴다
+    public String etag(Project project, String format) {
+        return "\"" + key(project, format) + "\"";
+    }
+
+    public byte[] get(Project project, String format) {
+        byte[] cached;
+        synchronized (this) {
+            cached = entries.get(key(project, format));
+        }
+
+        if (cached != null) {
+            hits.incrementAndGet();
+        } else {
+            misses.incrementAndGet();
+        }
+        return cached;
+    }
+
+    // out에 바로 쓰면서 결과를 모아 두었다가, 끝까지 성공하고 크기 제한 안이면 캐시에 넣는다
+    public void render(Project project, String format, OutputStream out, Renderer renderer) throws IOException {
+        CapturingOutputStream capturing = new CapturingOutputStream(out, maxEntryBytes);
+        renderer.render(capturing);
+        capturing.flush();
+
+        byte[] rendered = capturing.captured();
+        if (rendered != null) {
+            put(key(project, format), rendered);
+        }
+    }
+
+    public synchronized void invalidate(Long projectId) {
+        if (projectId == null) return;
+
+        String prefix = "p" + projectId + "-";
+        entries.entrySet().removeIf(entry -> {
+            if (entry.getKey().startsWith(prefix)) {
+                totalBytes -= entry.getValue().length;
+                return true;
+            }
+            return false;
+        });
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        totalBytes = 0;
+    }
+
+    public synchronized Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("hits", hits.get());
+        stats.put("misses", misses.get());
+        stats.put("evictions", evictions.get());
+        stats.put("entries", entries.size());
+        stats.put("bytes", totalBytes);
+        stats.put("maxBytes", maxBytes);
+        return stats;
+    }
+
+    public long hitCount() {
+        return hits.get();
+    }
+
+    public long missCount() {
+        return misses.get();
+    }
+
+    public synchronized long byteCount() {
+        return totalBytes;
+    }
+
+    private synchronized void put(String key, byte[] value) {
+        byte[] previous = entries.put(key, value);
+        if (previous != null) {
+            totalBytes -= previous.length;
+        }
+        totalBytes += value.length;
+
+        while (totalBytes > maxBytes && !entries.isEmpty()) {
+            String eldest = entries.keySet().iterator().next();
+            totalBytes -= entries.remove(eldest).length;
+            evictions.incrementAndGet();
+        }
+    }
+
+    private static String key(Project project, String format) {
+        // 버전 컬럼이 비어 있는 예전 행은 수정 시각으로 대신한다
+        Object version = project.getVersion() != null ? project.getVersion() : project.getUpdatedAt();
+        return "p" + project.getId() + "-v" + version + "-" + format + "-" + RENDER_VERSION;
+    }
+
+    private static class CapturingOutputStream extends FilterOutputStream {
+        private final long limit;
+        private ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+
+        CapturingOutputStream(OutputStream out, long limit) {
+            super(out);
+            this.limit = limit;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            capture(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            capture(b, off, len);
+        }
+
+        // 다 쓴 뒤에 호출하는 쪽이 닫는다 (응답 스트림은 닫지 않음)
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+
+        private void capture(byte[] b, int off, int len) {
+            if (buffer == null) return;
+
+            if (buffer.size() + len > limit) {
+                buffer = null;
+                return;
+            }
+            buffer.write(b, off, len);
+        }
+
+        byte[] captured() {
+            return buffer != null ? buffer.toByteArray() : null;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.businessplan.service;
+
+import com.example.businessplan.entity.Project;
+import jakarta.persistence.PreRemove;
+import jakarta.persistence.PreUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+// Project 엔티티 리스너: 수정/삭제되면 이전 버전의 렌더링 결과를 캐시에서 뺀다
+// (Hibernate가 스프링 빈 컨테이너로 생성하므로 주입을 받을 수 있음)
+@Component
+@RequiredArgsConstructor
+public class RenderCacheInvalidator {
+
+    private final RenderCache renderCache;
+
+    @PreUpdate
+    @PreRemove
+    public void onChange(Project project) {
+        renderCache.invalidate(project.getId());
+    }
+}
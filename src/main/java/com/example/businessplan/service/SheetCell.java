@@ -0,0 +1,84 @@
+package com.example.businessplan.service;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellType;
+
+/**
+ * 엑셀 셀 값 (DOM/SAX 파서 공통).
+ * 수식 셀은 계산된 값 기준으로 숫자면 NUMERIC, 문자열이면 FORMULA로 둔다.
+ */
+record SheetCell(CellType type, String text, double number) {
+
+    static final SheetCell BLANK = new SheetCell(CellType.BLANK, "", 0);
+
+    static SheetCell ofString(String text) {
+        return new SheetCell(CellType.STRING, text, 0);
+    }
+
+    static SheetCell ofNumber(double number) {
+        return new SheetCell(CellType.NUMERIC, null, number);
+    }
+
+    static SheetCell ofFormulaString(String text) {
+        return new SheetCell(CellType.FORMULA, text, 0);
+    }
+
+    static SheetCell ofBoolean(boolean value) {
+        return new SheetCell(CellType.BOOLEAN, String.valueOf(value), 0);
+    }
+
+    static SheetCell of(Cell cell) {
+        if (cell == null) return BLANK;
+
+        switch (cell.getCellType()) {
+            case STRING:
+                return ofString(cell.getStringCellValue());
+            case NUMERIC:
+                return ofNumber(cell.getNumericCellValue());
+            case BOOLEAN:
+                return ofBoolean(cell.getBooleanCellValue());
+            case FORMULA:
+                switch (cell.getCachedFormulaResultType()) {
+                    case STRING:
+                        return ofFormulaString(cell.getStringCellValue());
+                    case NUMERIC:
+                        return ofNumber(cell.getNumericCellValue());
+                    case BOOLEAN:
+                        return ofBoolean(cell.getBooleanCellValue());
+                    default:
+                        return BLANK;
+                }
+            default:
+                return BLANK;
+        }
+    }
+
+    String asString() {
+        switch (type) {
+            case STRING:
+            case FORMULA:
+            case BOOLEAN:
+                return text.trim();
+            case NUMERIC:
+                return String.valueOf((long) number);
+            default:
+                return "";
+        }
+    }
+
+    long asLong() {
+        switch (type) {
+            case NUMERIC:
+                return (long) number;
+            case STRING:
+                String value = text.trim().replaceAll("[^0-9]", "");
+                try {
+                    return value.isEmpty() ? 0L : Long.parseLong(value);
+                } catch (NumberFormatException e) {
+                    return 0L;
+                }
+            default:
+                return 0L;
+        }
+    }
+}
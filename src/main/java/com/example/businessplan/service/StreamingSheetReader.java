@@ -0,0 +1,147 @@
+package com.example.businessplan.service;
+
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
+
+import java.io.File;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * XSSFReader + SAX로 첫 번째 시트를 한 행씩 읽는다.
+ * 메모리에는 현재 행과 공유 문자열 테이블만 올라간다 (DOM 워크북을 만들지 않음).
+ */
+final class StreamingSheetReader {
+
+    interface RowHandler {
+        // false를 돌려주면 나머지 행은 읽지 않는다
+        boolean row(int rowIndex, List<SheetCell> cells);
+    }
+
+    private StreamingSheetReader() {
+    }
+
+    static void readFirstSheet(File file, RowHandler handler) throws Exception {
+        try (OPCPackage pkg = OPCPackage.open(file, PackageAccess.READ)) {
+            XSSFReader reader = new XSSFReader(pkg);
+            ReadOnlySharedStringsTable sharedStrings = new ReadOnlySharedStringsTable(pkg, false);
+
+            Iterator<InputStream> sheets = reader.getSheetsData();
+            if (!sheets.hasNext()) {
+                throw new IllegalStateException("시트가 없습니다");
+            }
+
+            try (InputStream sheet = sheets.next()) {
+                XMLReader parser = XMLHelper.newXMLReader();
+                parser.setContentHandler(new SheetHandler(sharedStrings, handler));
+                parser.parse(new InputSource(sheet));
+            } catch (StopParsing ignored) {
+                // 핸들러가 중단을 요청함
+            }
+        }
+    }
+
+    private static class StopParsing extends RuntimeException {
+        StopParsing() {
+            super(null, null, false, false);
+        }
+    }
+
+    private static class SheetHandler extends DefaultHandler {
+        private final ReadOnlySharedStringsTable sharedStrings;
+        private final RowHandler handler;
+
+        private int rowIndex = -1;
+        private List<SheetCell> cells;
+
+        private int column;
+        private String cellType;
+        private boolean hasFormula;
+        private boolean collecting;
+        private boolean inPhonetic;
+        private final StringBuilder value = new StringBuilder();
+
+        SheetHandler(ReadOnlySharedStringsTable sharedStrings, RowHandler handler) {
+            this.sharedStrings = sharedStrings;
+            this.handler = handler;
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes) {
+            switch (localName) {
+                case "row" -> {
+                    String r = attributes.getValue("r");
+                    rowIndex = r != null ? Integer.parseInt(r) - 1 : rowIndex + 1;
+                    cells = new ArrayList<>();
+                }
+                case "c" -> {
+                    String ref = attributes.getValue("r");
+                    column = ref != null ? new CellReference(ref).getCol() : cells.size();
+                    cellType = attributes.getValue("t");
+                    hasFormula = false;
+                    value.setLength(0);
+                }
+                case "f" -> hasFormula = true;
+                // 인라인 문자열의 윗주(rPh)는 값에 포함하지 않는다
+                case "rPh" -> inPhonetic = true;
+                case "v", "t" -> collecting = !inPhonetic;
+                default -> {
+                }
+            }
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length) {
+            if (collecting) {
+                value.append(ch, start, length);
+            }
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) {
+            switch (localName) {
+                case "v", "t" -> collecting = false;
+                case "rPh" -> inPhonetic = false;
+                case "c" -> {
+                    while (cells.size() < column) {
+                        cells.add(SheetCell.BLANK);
+                    }
+                    cells.add(toCell());
+                }
+                case "row" -> {
+                    if (!handler.row(rowIndex, cells)) {
+                        throw new StopParsing();
+                    }
+                    cells = null;
+                }
+                default -> {
+                }
+            }
+        }
+
+        private SheetCell toCell() {
+            String text = value.toString();
+            if (cellType == null || cellType.equals("n")) {
+                return text.isEmpty() ? SheetCell.BLANK : SheetCell.ofNumber(Double.parseDouble(text));
+            }
+
+            return switch (cellType) {
+                case "s" -> SheetCell.ofString(sharedStrings.getItemAt(Integer.parseInt(text.trim())).getString());
+                case "inlineStr" -> SheetCell.ofString(text);
+                case "str" -> hasFormula ? SheetCell.ofFormulaString(text) : SheetCell.ofString(text);
+                case "b" -> SheetCell.ofBoolean("1".equals(text.trim()));
+                default -> SheetCell.BLANK;
+            };
+        }
+    }
+}
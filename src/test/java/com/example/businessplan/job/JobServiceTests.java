@@ -0,0 +1,77 @@
+package com.example.businessplan.job;
+
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JobServiceTests {
+
+	private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+	@AfterEach
+	void shutdown() {
+		executor.shutdownNow();
+	}
+
+	// 한 프로젝트의 느린 precheck가 다른 프로젝트 등록을 막지 않고, 같은 프로젝트 요청은 한 작업으로 합쳐진다
+	@Test
+	void precheckRunsOutsideTheLock() throws Exception {
+		JobService jobService = new JobService(executor, 60, ObservationRegistry.NOOP);
+		CountDownLatch precheckEntered = new CountDownLatch(1);
+		CountDownLatch releasePrecheck = new CountDownLatch(1);
+		CountDownLatch releaseWork = new CountDownLatch(1);
+		JobWork work = progress -> {
+			releaseWork.await();
+			return Map.of();
+		};
+
+		CompletableFuture<Job> slow = CompletableFuture.supplyAsync(() ->
+				jobService.submitOrJoin(JobType.GENERATE_PLAN, 1L, () -> {
+					precheckEntered.countDown();
+					await(releasePrecheck);
+				}, work));
+		assertThat(precheckEntered.await(5, TimeUnit.SECONDS)).isTrue();
+
+		Job other = CompletableFuture.supplyAsync(() ->
+				jobService.submitOrJoin(JobType.GENERATE_PLAN, 2L, () -> { }, work)).get(2, TimeUnit.SECONDS);
+		assertThat(other.getProjectId()).isEqualTo(2L);
+
+		releasePrecheck.countDown();
+		Job first = slow.get(5, TimeUnit.SECONDS);
+		Job joined = jobService.submitOrJoin(JobType.GENERATE_PLAN, 1L, () -> { }, work);
+		assertThat(joined).isSameAs(first);
+		assertThat(jobService.getJoinedCount()).isEqualTo(1L);
+		releaseWork.countDown();
+	}
+
+	@Test
+	void purgeRemovesFinishedJobsWithoutNewSubmissions() throws Exception {
+		JobService jobService = new JobService(executor, 0, ObservationRegistry.NOOP);
+		Job job = jobService.submitOrJoin(JobType.GENERATE_PLAN, 1L, () -> { }, progress -> Map.of());
+
+		for (int i = 0; i < 100 && !job.getState().isFinished(); i++) {
+			Thread.sleep(20);
+		}
+		Thread.sleep(5);
+		jobService.purgeFinishedJobs();
+
+		assertThat(jobService.findJob(job.getId())).isEmpty();
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
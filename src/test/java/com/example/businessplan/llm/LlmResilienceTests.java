@@ -0,0 +1,219 @@
+package com.example.businessplan.llm;
+
+import com.theokanning.openai.OpenAiError;
+import com.theokanning.openai.OpenAiHttpException;
+import io.reactivex.Flowable;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.ResponseBody;
+import org.junit.jupiter.api.Test;
+import retrofit2.HttpException;
+import retrofit2.Response;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LlmResilienceTests {
+
+	@Test
+	void streamStopsAtOperationTimeout() {
+		LlmResilience resilience = hedging(false, 1, 4);
+
+		resilience.stream("page2Content", () -> Flowable.<String>never().startWith("첫 토큰"))
+				.test()
+				.awaitDone(5, TimeUnit.SECONDS)
+				.assertValue("첫 토큰")
+				.assertError(TimeoutException.class);
+		assertThat(resilience.getStats().get("timeouts")).isEqualTo(1L);
+
+		// 제때 끝나면 그대로 완료
+		resilience.stream("page2Content", () -> Flowable.just("a", "b"))
+				.test()
+				.awaitDone(5, TimeUnit.SECONDS)
+				.assertValues("a", "b")
+				.assertComplete();
+	}
+
+	@Test
+	void retriesTransientErrorsUntilSuccess() {
+		LlmResilience resilience = retrying(3, 10, 5);
+		AtomicInteger calls = new AtomicInteger();
+
+		String result = resilience.execute("expandAnswer", failing(2, calls, () -> httpError(503, Map.of())));
+
+		assertThat(result).isEqualTo("확장된 답변");
+		assertThat(calls).hasValue(3);
+		assertThat(resilience.getStats()).containsEntry("retries", 2L).containsEntry("breakerState", "CLOSED");
+		resilience.shutdown();
+	}
+
+	@Test
+	void givesUpAfterMaxAttempts() {
+		LlmResilience resilience = retrying(3, 10, 5);
+		AtomicInteger calls = new AtomicInteger();
+
+		assertThatThrownBy(() -> resilience.execute("expandAnswer", failing(5, calls, () -> httpError(500, Map.of()))))
+				.isInstanceOf(HttpException.class);
+		assertThat(calls).hasValue(3);
+		resilience.shutdown();
+	}
+
+	@Test
+	void honoursRetryAfterHeaders() {
+		// backoff 상한(50ms × 4)이 헤더 값보다 커야 헤더대로 기다린다
+		LlmResilience resilience = retrying(2, 50, 5);
+
+		long started = System.nanoTime();
+		resilience.execute("expandAnswer", failing(1, new AtomicInteger(), () -> httpError(429, Map.of("retry-after-ms", "150"))));
+		assertThat(elapsedMillis(started)).isGreaterThanOrEqualTo(150);
+
+		// Retry-After(초)는 상한(200ms)으로 잘린다
+		started = System.nanoTime();
+		resilience.execute("expandAnswer", failing(1, new AtomicInteger(), () -> httpError(429, Map.of("Retry-After", "30"))));
+		assertThat(elapsedMillis(started)).isBetween(200L, 5000L);
+		resilience.shutdown();
+	}
+
+	@Test
+	void doesNotRetryInsufficientQuota() {
+		LlmResilience resilience = retrying(3, 10, 5);
+		AtomicInteger calls = new AtomicInteger();
+		OpenAiHttpException quota = new OpenAiHttpException(
+				new OpenAiError(new OpenAiError.OpenAiErrorDetails("quota", "insufficient_quota", null, "insufficient_quota")),
+				null, 429);
+
+		assertThatThrownBy(() -> resilience.execute("expandAnswer", failing(1, calls, () -> quota))).isSameAs(quota);
+		assertThat(calls).hasValue(1);
+		assertThat(resilience.getStats()).containsEntry("retries", 0L);
+		resilience.shutdown();
+	}
+
+	// 4xx는 상위 서비스가 회복됐다는 근거가 아니므로 연속 실패 횟수를 지우지 않는다
+	@Test
+	void clientErrorsDoNotResetFailureCount() {
+		LlmResilience resilience = retrying(1, 10, 2);
+
+		assertThatThrownBy(() -> resilience.execute("expandAnswer", failing(1, new AtomicInteger(), () -> httpError(503, Map.of()))));
+		assertThatThrownBy(() -> resilience.execute("expandAnswer", failing(1, new AtomicInteger(), () -> httpError(400, Map.of()))));
+		assertThat(resilience.breakerState()).isEqualTo("CLOSED");
+
+		assertThatThrownBy(() -> resilience.execute("expandAnswer", failing(1, new AtomicInteger(), () -> httpError(503, Map.of()))));
+		assertThat(resilience.breakerState()).isEqualTo("OPEN");
+		assertThatThrownBy(() -> resilience.execute("expandAnswer", () -> "답변"))
+				.isInstanceOf(LlmUnavailableException.class);
+		resilience.shutdown();
+	}
+
+	@Test
+	void breakerOpensProbesAndCloses() throws Exception {
+		LlmResilience.CircuitBreaker breaker = new LlmResilience.CircuitBreaker(2, Duration.ofMillis(50));
+
+		assertThat(breaker.tryAcquire()).isTrue();
+		breaker.onFailure();
+		assertThat(breaker.state()).isEqualTo(LlmResilience.State.CLOSED);
+		breaker.onFailure();
+		assertThat(breaker.state()).isEqualTo(LlmResilience.State.OPEN);
+		assertThat(breaker.tryAcquire()).isFalse();
+
+		// 열린 시간이 지나면 시험 호출 1건만 허용, 실패하면 다시 OPEN
+		Thread.sleep(60);
+		assertThat(breaker.tryAcquire()).isTrue();
+		assertThat(breaker.state()).isEqualTo(LlmResilience.State.HALF_OPEN);
+		assertThat(breaker.tryAcquire()).isFalse();
+		breaker.onFailure();
+		assertThat(breaker.state()).isEqualTo(LlmResilience.State.OPEN);
+
+		// 시험 호출이 4xx로 끝나면 HALF_OPEN 그대로 다음 시험 호출을 기다린다
+		Thread.sleep(60);
+		assertThat(breaker.tryAcquire()).isTrue();
+		breaker.release();
+		assertThat(breaker.state()).isEqualTo(LlmResilience.State.HALF_OPEN);
+		assertThat(breaker.tryAcquire()).isTrue();
+
+		breaker.onSuccess();
+		assertThat(breaker.state()).isEqualTo(LlmResilience.State.CLOSED);
+		assertThat(breaker.tryAcquire()).isTrue();
+		assertThat(breaker.tryAcquire()).isTrue();
+	}
+
+	// 호출 풀과 대기열이 가득 차도 원래 호출은 거절되지 않는다 (호출한 스레드에서 실행)
+	@Test
+	void saturatedPoolRunsPrimaryOnCaller() {
+		LlmResilience resilience = new LlmResilience(2000, 2000, 2000, 1, 10, 10, 5, 30, false, 100, 1, 1, 1);
+
+		List<CompletableFuture<String>> calls = new ArrayList<>();
+		for (int i = 0; i < 4; i++) {
+			calls.add(CompletableFuture.supplyAsync(() -> resilience.execute("expandAnswer", () -> {
+				Thread.sleep(100);
+				return "답변";
+			})));
+		}
+
+		assertThat(calls).allSatisfy(call -> assertThat(call.join()).isEqualTo("답변"));
+		assertThat(resilience.breakerState()).isEqualTo("CLOSED");
+		resilience.shutdown();
+	}
+
+	// hedge 풀이 가득 차 hedge를 못 보내도 원래 호출은 끝까지 기다린다
+	@Test
+	void rejectedHedgeKeepsPrimaryCall() {
+		LlmResilience resilience = hedging(true, 1, 4);
+		Callable<String> slow = () -> {
+			Thread.sleep(400);
+			return "질문";
+		};
+
+		CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> resilience.execute("allSectionQuestions", slow));
+		CompletableFuture<String> second = CompletableFuture.supplyAsync(() -> resilience.execute("allSectionQuestions", slow));
+
+		assertThat(first.join()).isEqualTo("질문");
+		assertThat(second.join()).isEqualTo("질문");
+		assertThat(resilience.getStats())
+				.containsEntry("hedges", 1L)
+				.containsEntry("hedgesRejected", 1L);
+		resilience.shutdown();
+	}
+
+	// page2 타임아웃 200ms, 질문 생성 타임아웃 2초, hedge 지연 100ms
+	static LlmResilience hedging(boolean hedge, int maxConcurrentHedges, int maxConcurrentCalls) {
+		return new LlmResilience(2000, 2000, 200, 1, 10, 10, 5, 30, hedge, 100, maxConcurrentHedges, maxConcurrentCalls, 10);
+	}
+
+	static LlmResilience retrying(int maxAttempts, long backoffMaxMillis, int failureThreshold) {
+		return new LlmResilience(2000, 2000, 2000, maxAttempts, 10, backoffMaxMillis, failureThreshold, 30, false, 100, 1, 4, 10);
+	}
+
+	// 처음 failures번은 error()를 던지고 그다음부터 성공
+	private static Callable<String> failing(int failures, AtomicInteger calls, Callable<? extends Exception> error) {
+		return () -> {
+			if (calls.incrementAndGet() <= failures) {
+				throw error.call();
+			}
+			return "확장된 답변";
+		};
+	}
+
+	private static HttpException httpError(int status, Map<String, String> headers) {
+		okhttp3.Response.Builder raw = new okhttp3.Response.Builder()
+				.code(status)
+				.message("HTTP " + status)
+				.protocol(Protocol.HTTP_1_1)
+				.request(new Request.Builder().url("http://localhost/v1/chat/completions").build());
+		headers.forEach(raw::header);
+		return new HttpException(Response.error(ResponseBody.create("{}", null), raw.build()));
+	}
+
+	private static long elapsedMillis(long startedNanos) {
+		return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedNanos);
+	}
+}
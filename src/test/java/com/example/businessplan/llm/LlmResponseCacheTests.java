@@ -0,0 +1,81 @@
+package com.example.businessplan.llm;
+
+import com.theokanning.openai.completion.chat.ChatCompletionRequest;
+import com.theokanning.openai.completion.chat.ChatMessage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LlmResponseCacheTests {
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	void sameRequestProducesSameKey() {
+		LlmResponseCache cache = new LlmResponseCache(10, 60, "q", "", 200, 10000);
+
+		assertThat(cache.key(request("사업명: 마을축제", 0.7)))
+				.isEqualTo(cache.key(request("사업명: 마을축제", 0.7)))
+				.isNotEqualTo(cache.key(request("사업명: 마을축제", 0.2)));
+	}
+
+	@Test
+	void evictsLeastRecentlyUsedEntry() {
+		LlmResponseCache cache = new LlmResponseCache(2, 60, "q", "", 200, 10000);
+
+		cache.put("a", "1");
+		cache.put("b", "2");
+		cache.get("a");
+		cache.put("c", "3");
+
+		assertThat(cache.get("a")).contains("1");
+		assertThat(cache.get("b")).isEmpty();
+		assertThat(cache.getStats().get("evictions")).isEqualTo(1L);
+	}
+
+	@Test
+	void diskTierSurvivesNewInstance() {
+		new LlmResponseCache(10, 60, "q", tempDir.toString(), 200, 10000).put("k", "질문");
+
+		LlmResponseCache restarted = new LlmResponseCache(10, 60, "q", tempDir.toString(), 200, 10000);
+
+		assertThat(restarted.get("k")).contains("질문");
+		assertThat(restarted.getStats().get("diskHits")).isEqualTo(1L);
+	}
+
+	@Test
+	void diskTierDropsOldestFilesOverCap() throws Exception {
+		LlmResponseCache cache = new LlmResponseCache(10, 60, "q", tempDir.toString(), 200, 2);
+
+		cache.put("a", "첫째");
+		cache.put("b", "둘째");
+		cache.put("c", "셋째");
+
+		assertThat(Files.exists(tempDir.resolve("a"))).isFalse();
+		assertThat(cache.getStats())
+				.containsEntry("diskEntries", 2)
+				.containsEntry("diskBytes", (long) "둘째셋째".getBytes(StandardCharsets.UTF_8).length)
+				.containsEntry("diskEvictions", 1L);
+
+		// 다시 띄워도 남은 파일만 색인에 올라온다
+		LlmResponseCache restarted = new LlmResponseCache(10, 60, "q", tempDir.toString(), 200, 2);
+		assertThat(restarted.get("a")).isEmpty();
+		assertThat(restarted.get("c")).contains("셋째");
+	}
+
+	private ChatCompletionRequest request(String prompt, double temperature) {
+		return ChatCompletionRequest.builder()
+				.model("gpt-3.5-turbo")
+				.messages(List.of(new ChatMessage("user", prompt)))
+				.temperature(temperature)
+				.maxTokens(300)
+				.build();
+	}
+}
@@ -0,0 +1,103 @@
+package com.example.businessplan.repository;
+
+import com.example.businessplan.entity.Answer;
+import com.example.businessplan.entity.Project;
+import com.example.businessplan.entity.Question;
+import com.example.businessplan.service.RenderCache;
+import com.example.businessplan.service.RenderCacheInvalidator;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({RenderCache.class, RenderCacheInvalidator.class})
+class AnswerRepositoryTests {
+
+	private static final String[] SECTIONS = {"세부계획", "월별추진계획", "기대효과"};
+
+	@Autowired
+	private AnswerRepository answerRepository;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	private Long projectId;
+
+	@BeforeEach
+	void setUp() {
+		Project project = new Project();
+		project.setProjectName("마을축제");
+		entityManager.persist(project);
+		projectId = project.getId();
+
+		// 섹션이 섞인 순서로 넣어도 (섹션, 순번) 순으로 읽혀야 한다
+		for (int i = 9; i >= 1; i--) {
+			Question question = new Question();
+			question.setProject(project);
+			question.setSection(SECTIONS[i % 3]);
+			question.setQuestionText("질문" + i);
+			question.setOrderNum(i);
+			entityManager.persist(question);
+
+			Answer answer = new Answer();
+			answer.setQuestion(question);
+			answer.setUserAnswer("답변" + i);
+			entityManager.persist(answer);
+		}
+		entityManager.flush();
+		entityManager.clear();
+	}
+
+	@Test
+	void readsAnswersWithQuestionsInOneStatement() {
+		Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+
+		List<Answer> answers = answerRepository.findWithQuestionByProjectId(projectId);
+		List<String> questions = answers.stream()
+				.map(answer -> answer.getQuestion().getSection() + ":" + answer.getQuestion().getQuestionText())
+				.toList();
+
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+		assertThat(questions).containsExactly(
+				"기대효과:질문2", "기대효과:질문5", "기대효과:질문8",
+				"세부계획:질문3", "세부계획:질문6", "세부계획:질문9",
+				"월별추진계획:질문1", "월별추진계획:질문4", "월별추진계획:질문7");
+	}
+
+	// 시퀀스 ID라 INSERT가 배치로 묶인다 (IDENTITY였다면 행마다 문장 하나)
+	@Test
+	void batchesInserts() {
+		List<Question> questions = entityManager
+				.createQuery("select q from Question q where q.project.id = :projectId", Question.class)
+				.setParameter("projectId", projectId)
+				.getResultList();
+
+		Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+
+		List<Answer> answers = new ArrayList<>();
+		for (int i = 0; i < 40; i++) {
+			Answer answer = new Answer();
+			answer.setQuestion(questions.get(i % questions.size()));
+			answer.setUserAnswer("추가 답변" + i);
+			answers.add(answer);
+		}
+		answerRepository.saveAll(answers);
+		entityManager.flush();
+
+		assertThat(statistics.getEntityInsertCount()).isEqualTo(40);
+		// INSERT 한 문장 + 시퀀스 조회
+		assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(2);
+	}
+}
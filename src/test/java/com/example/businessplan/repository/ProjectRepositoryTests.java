@@ -0,0 +1,84 @@
+package com.example.businessplan.repository;
+
+import com.example.businessplan.entity.Project;
+import com.example.businessplan.service.RenderCache;
+import com.example.businessplan.service.RenderCacheInvalidator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceUnitUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import({RenderCache.class, RenderCacheInvalidator.class})
+class ProjectRepositoryTests {
+
+	@Autowired
+	private ProjectRepository projectRepository;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	private Long projectId;
+
+	@BeforeEach
+	void setUp() {
+		Project project = new Project();
+		project.setProjectName("마을축제");
+		project.setStatus("완료");
+		project.setBudgetDetails("{\"items\":[]}");
+		project.setDetailedPlan("긴 본문 ".repeat(2000));
+		project.setSectionFingerprints("{}");
+		projectId = projectRepository.save(project).getId();
+
+		entityManager.flush();
+		entityManager.clear();
+	}
+
+	@Test
+	void loadsContentOnlyWhenAsked() {
+		PersistenceUnitUtil util = entityManager.getEntityManagerFactory().getPersistenceUnitUtil();
+
+		Project light = projectRepository.findById(projectId).orElseThrow();
+		assertThat(light.getStatus()).isEqualTo("완료");
+		assertThat(util.isLoaded(light, "content")).isFalse();
+
+		// 필요해지면 그때 읽는다
+		assertThat(light.getDetailedPlan()).startsWith("긴 본문");
+		assertThat(util.isLoaded(light, "content")).isTrue();
+
+		entityManager.clear();
+		Project full = projectRepository.findWithContentById(projectId).orElseThrow();
+		assertThat(util.isLoaded(full, "content")).isTrue();
+	}
+
+	// 본문만 바꿔도 버전이 올라가야 ETag/렌더 캐시가 새 내용을 본다
+	@Test
+	void contentChangeBumpsVersion() {
+		Project project = projectRepository.findWithContentById(projectId).orElseThrow();
+		Long version = project.getVersion();
+
+		project.setExpectedEffect("주민 참여 확대");
+		entityManager.flush();
+
+		assertThat(project.getVersion()).isGreaterThan(version);
+	}
+
+	@Test
+	void keepsJsonShape() throws Exception {
+		Project project = projectRepository.findWithContentById(projectId).orElseThrow();
+		JsonNode json = new ObjectMapper().findAndRegisterModules().valueToTree(project);
+
+		assertThat(json.has("budgetDetails")).isTrue();
+		assertThat(json.get("detailedPlan").asText()).startsWith("긴 본문");
+		assertThat(json.has("monthlyPlan")).isTrue();
+		assertThat(json.has("content")).isFalse();
+		assertThat(json.has("sectionFingerprints")).isFalse();
+	}
+}
@@ -0,0 +1,82 @@
+package com.example.businessplan.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BudgetTableTests {
+
+	@Test
+	void jsonKeepsStoredShape() throws Exception {
+		BudgetTable table = new BudgetTable(1);
+		table.add("축제", "운영비", "10000원 × 10회", 100_000, 30_000, 70_000, 0);
+		table.add("교육", "강사비", "", 500_000, 150_000, 350_000, 0);
+
+		Map<?, ?> json = new ObjectMapper().readValue(table.toJson(), Map.class);
+
+		assertThat(json.get("itemCount")).isEqualTo(2);
+		assertThat(json.get("totalAmount")).isEqualTo(600_000);
+		assertThat(json.get("totalCity")).isEqualTo(420_000);
+		assertThat(((List<?>) json.get("items")).get(1))
+				.isEqualTo(Map.of("subProject", "교육", "budgetItem", "강사비", "calculation", "",
+						"amount", 500_000, "provincialFund", 150_000, "cityFund", 350_000, "selfFund", 0));
+
+		assertThat(BudgetTable.fromJson(table.toJson()).toJson()).isEqualTo(table.toJson());
+	}
+
+	@Test
+	void readsLooseItemsAndRecomputesTotals() throws Exception {
+		String json = "{\"items\":[{\"subProject\":\"축제\",\"amount\":\"200000\",\"cityFund\":null,\"memo\":{\"a\":1}},"
+				+ "{\"amount\":300000,\"provincialFund\":\"abc\"}],\"totalAmount\":1}";
+
+		BudgetTable table = BudgetTable.fromJson(json);
+
+		assertThat(table.size()).isEqualTo(2);
+		assertThat(table.subProject(0)).isEqualTo("축제");
+		assertThat(table.cityFund(0)).isZero();
+		assertThat(table.provincialFund(1)).isZero();
+		assertThat(table.totalAmount()).isEqualTo(500_000L);
+
+		BudgetTable items = BudgetTable.fromJson("[{\"amount\":5}]");
+		assertThat(items.totalAmount()).isEqualTo(5L);
+	}
+
+	// 화면이 항목에 붙여 보낸 키(id 등)는 조정 후에도 그대로 돌려준다
+	@Test
+	void keepsUnknownItemKeys() throws Exception {
+		String json = "[{\"id\":\"row-1\",\"subProject\":\"축제\",\"amount\":10000,\"memo\":{\"a\":1}},{\"amount\":5000}]";
+		BudgetTable table = new ObjectMapper().readValue(json, BudgetTable.class);
+
+		table.update(0, "1000원 × 9회", 9_000, 2_700, 6_300);
+
+		assertThat(table.extras(0)).containsEntry("id", "row-1").containsEntry("memo", Map.of("a", 1));
+		assertThat(table.extras(1)).isEmpty();
+
+		List<Map<String, Object>> items = new ObjectMapper().readValue(
+				new ObjectMapper().writeValueAsString(table.items()), new TypeReference<>() {});
+		assertThat(items.get(0))
+				.containsEntry("id", "row-1")
+				.containsEntry("memo", Map.of("a", 1))
+				.containsEntry("amount", 9_000);
+		assertThat(items.get(1)).doesNotContainKey("id");
+	}
+
+	@Test
+	void updateAdjustsTotals() {
+		BudgetTable table = new BudgetTable();
+		table.add("축제", "운영비", "1000원 × 10회", 10_000, 3_000, 7_000, 0);
+		table.add("축제", "재료비", "1000원 × 5개", 5_000, 1_500, 3_500, 0);
+
+		table.update(1, "1000원 × 2개", 2_000, 600, 1_400);
+
+		assertThat(table.totalAmount()).isEqualTo(12_000L);
+		assertThat(table.totalProvincial()).isEqualTo(3_600L);
+		assertThat(table.totalCity()).isEqualTo(8_400L);
+		assertThat(table.calculation(1)).isEqualTo("1000원 × 2개");
+	}
+}
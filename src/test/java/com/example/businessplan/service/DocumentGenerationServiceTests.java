@@ -0,0 +1,100 @@
+package com.example.businessplan.service;
+
+import com.example.businessplan.entity.Project;
+import io.micrometer.observation.ObservationRegistry;
+import org.apache.poi.xwpf.extractor.XWPFWordExtractor;
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+import org.apache.poi.xwpf.usermodel.XWPFTable;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.io.ByteArrayInputStream;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DocumentGenerationServiceTests {
+
+	private static final String TEMPLATE = "classpath:templates/business-plan.docx";
+
+	@Test
+	void fillsTemplate() throws Exception {
+		Project project = project();
+		byte[] docx = service("template").generateDocx(project);
+
+		try (XWPFDocument document = new XWPFDocument(new ByteArrayInputStream(docx));
+			 XWPFWordExtractor extractor = new XWPFWordExtractor(document)) {
+			String text = extractor.getText();
+
+			assertThat(text).doesNotContain("{{").contains("행복마을", "총 1,000천원", "2. 세부계획", "둘째 줄");
+			// 값이 없는 섹션은 제목까지 빠진다
+			assertThat(text).doesNotContain("3. 월별 추진계획");
+
+			List<XWPFTable> tables = document.getTables();
+			assertThat(tables).hasSize(2);
+			XWPFTable budget = tables.get(1);
+			assertThat(budget.getRows()).hasSize(4);
+			assertThat(budget.getRow(2).getCell(3).getText()).isEqualTo("200,000");
+			assertThat(budget.getRow(3).getCell(3).getText()).isEqualTo("300,000");
+
+			// 여러 줄 본문은 같은 스타일의 문단으로 나뉜다
+			assertThat(document.getParagraphs())
+					.filteredOn(paragraph -> paragraph.getText().endsWith("줄"))
+					.extracting(paragraph -> paragraph.getStyle())
+					.containsOnly("PlanBody")
+					.hasSize(2);
+		}
+	}
+
+	// 글꼴/크기를 run마다 넣지 않고 스타일로 두므로 본문 XML이 작아진다
+	@Test
+	void templateDocumentXmlIsSmallerThanBuilder() throws Exception {
+		Project project = project();
+		StringBuilder plan = new StringBuilder();
+		for (int i = 1; i <= 60; i++) {
+			plan.append(i).append(". 주민이 함께하는 마을 축제 준비 모임을 운영한다\n");
+		}
+		project.setDetailedPlan(plan.toString());
+		project.setMonthlyPlan(plan.toString());
+		project.setExpectedEffect(plan.toString());
+
+		long template = documentXmlSize(service("template").generateDocx(project));
+		long builder = documentXmlSize(service("builder").generateDocx(project));
+
+		assertThat(template).isLessThan(builder * 3 / 4);
+	}
+
+	private long documentXmlSize(byte[] docx) throws Exception {
+		try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(docx))) {
+			for (ZipEntry entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+				if (entry.getName().equals("word/document.xml")) {
+					return zip.readAllBytes().length;
+				}
+			}
+		}
+		throw new AssertionError("word/document.xml 없음");
+	}
+
+	private DocumentGenerationService service(String mode) {
+		return new DocumentGenerationService(ObservationRegistry.NOOP, new DefaultResourceLoader(), mode, TEMPLATE);
+	}
+
+	private Project project() {
+		Project project = new Project();
+		project.setCommunityName("행복마을");
+		project.setProjectName("마을축제");
+		project.setProjectPeriod("2025.3~2025.11");
+		project.setProjectLocation("마을회관");
+		project.setTotalBudget(1000L);
+		project.setProvincialFund(300L);
+		project.setCityFund(700L);
+		project.setSelfFund(0L);
+		project.setBudgetDetails("{\"items\":[{\"subProject\":\"축제\",\"amount\":100000},"
+				+ "{\"subProject\":\"교육\",\"amount\":200000}]}");
+		project.setDetailedPlan("첫째 줄\n둘째 줄");
+		project.setExpectedEffect("주민 참여 확대");
+		return project;
+	}
+}
@@ -0,0 +1,56 @@
+package com.example.businessplan.service;
+
+import io.micrometer.observation.ObservationRegistry;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExcelGenerationServiceTests {
+
+	@Test
+	void streamingExportMatchesWorkbookExport() throws Exception {
+		BudgetTable budget = new BudgetTable();
+		for (int i = 0; i < 250; i++) {
+			budget.add("마을축제 " + i, "운영비", "10000원 × " + i + "회", 10_000L * i, 3_000L * i, 7_000L * i, 0);
+		}
+
+		byte[] streaming = new ExcelGenerationService(ObservationRegistry.NOOP, "streaming").generateBudgetExcel(budget);
+		byte[] workbook = new ExcelGenerationService(ObservationRegistry.NOOP, "xssf").generateBudgetExcel(budget);
+
+		assertThat(values(streaming)).isEqualTo(values(workbook)).hasSize(252);
+
+		try (XSSFWorkbook read = new XSSFWorkbook(new ByteArrayInputStream(streaming))) {
+			Sheet sheet = read.getSheetAt(0);
+			assertThat(sheet.getRow(251).getCell(3).getNumericCellValue()).isEqualTo(budget.totalAmount());
+			// "10000원 × 249회" 가 "자부담" 보다 넓다
+			assertThat(sheet.getColumnWidth(2)).isGreaterThan(sheet.getColumnWidth(6));
+		}
+	}
+
+	@Test
+	void wideCharactersCountDouble() {
+		assertThat(ExcelGenerationService.displayWidth("산출근거")).isEqualTo(8);
+		assertThat(ExcelGenerationService.displayWidth("1,000원")).isEqualTo(7);
+	}
+
+	private List<String> values(byte[] xlsx) throws Exception {
+		DataFormatter formatter = new DataFormatter();
+		List<String> rows = new ArrayList<>();
+		try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(xlsx))) {
+			for (Row row : workbook.getSheetAt(0)) {
+				StringBuilder line = new StringBuilder();
+				row.forEach(cell -> line.append(formatter.formatCellValue(cell)).append('|'));
+				rows.add(line.toString());
+			}
+		}
+		return rows;
+	}
+}
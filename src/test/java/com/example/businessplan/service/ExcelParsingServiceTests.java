@@ -0,0 +1,90 @@
+package com.example.businessplan.service;
+
+import io.micrometer.observation.ObservationRegistry;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.ByteArrayOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ExcelParsingServiceTests {
+
+	@Test
+	void streamingMatchesWorkbookParsing() throws Exception {
+		MockMultipartFile file = upload(budgetWorkbook(true));
+
+		BudgetTable streaming = new ExcelParsingService(ObservationRegistry.NOOP, "streaming").parseExcel(file);
+		BudgetTable dom = new ExcelParsingService(ObservationRegistry.NOOP, "dom").parseExcel(file);
+
+		assertThat(streaming.toJson()).isEqualTo(dom.toJson());
+		assertThat(streaming.size()).isEqualTo(3);
+		assertThat(streaming.totalAmount()).isEqualTo(1_600_000L);
+		assertThat(streaming.totalProvincial()).isEqualTo(480_000L);
+		assertThat(streaming.amount(1)).isEqualTo(500_000L);
+		assertThat(streaming.calculation(2)).isEqualTo("20");
+	}
+
+	@Test
+	void missingHeaderIsReported() throws Exception {
+		MockMultipartFile file = upload(budgetWorkbook(false));
+
+		assertThatThrownBy(() -> new ExcelParsingService(ObservationRegistry.NOOP, "streaming").parseExcel(file))
+				.hasMessageContaining("'세부사업' 헤더를 찾을 수 없습니다");
+	}
+
+	private byte[] budgetWorkbook(boolean withHeader) throws Exception {
+		try (XSSFWorkbook workbook = new XSSFWorkbook(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+			Sheet sheet = workbook.createSheet("산출내역");
+			sheet.createRow(0).createCell(0).setCellValue("2025 마을공동체 사업 산출내역");
+
+			if (withHeader) {
+				Row header = sheet.createRow(2);
+				String[] titles = {"세부사업", "사업비목", "산출내역", "금액", "도비", "시비", "자부담"};
+				for (int i = 0; i < titles.length; i++) {
+					header.createCell(i).setCellValue(titles[i]);
+				}
+			}
+
+			Row first = sheet.createRow(3);
+			first.createCell(0).setCellValue("축제");
+			first.createCell(1).setCellValue("운영비");
+			first.createCell(2).setCellValue("10000원 × 10회");
+			first.createCell(3).setCellValue(100_000);
+			first.createCell(4).setCellValue(30_000);
+			first.createCell(5).setCellValue(70_000);
+
+			// 문자열 금액, 수식 금액, 빈 칸
+			Row second = sheet.createRow(5);
+			second.createCell(0).setCellValue("교육");
+			second.createCell(1).setCellValue("강사비");
+			second.createCell(3).setCellValue("500,000원");
+			second.createCell(4).setCellFormula("F6/7*3");
+			second.createCell(5).setCellValue(350_000);
+
+			Row third = sheet.createRow(6);
+			third.createCell(0).setCellValue("교육");
+			third.createCell(2).setCellValue(20);
+			third.createCell(3).setCellValue(1_000_000);
+			third.createCell(4).setCellValue(300_000);
+			third.createCell(6).setCellValue(true);
+
+			Row subtotal = sheet.createRow(7);
+			subtotal.createCell(0).setCellValue("소계");
+			subtotal.createCell(3).setCellValue(1_600_000);
+
+			workbook.getCreationHelper().createFormulaEvaluator().evaluateAll();
+			workbook.write(out);
+			return out.toByteArray();
+		}
+	}
+
+	private MockMultipartFile upload(byte[] content) {
+		return new MockMultipartFile("file", "budget.xlsx",
+				"application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", content);
+	}
+}
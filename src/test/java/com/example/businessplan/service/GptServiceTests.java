@@ -0,0 +1,53 @@
+package com.example.businessplan.service;
+
+import com.example.businessplan.llm.LlmClient;
+import com.example.businessplan.llm.LlmMetrics;
+import com.example.businessplan.llm.LlmResilience;
+import com.example.businessplan.llm.LlmResponse;
+import com.example.businessplan.llm.LlmResponseCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class GptServiceTests {
+
+	private final LlmResilience resilience = new LlmResilience(2000, 2000, 2000, 1, 10, 10, 5, 30, false, 100, 1, 4, 10);
+
+	@AfterEach
+	void shutdown() {
+		resilience.shutdown();
+	}
+
+	// 형식이 깨진 응답은 캐시에 남기지 않고 다음 요청에서 다시 호출한다
+	@Test
+	void cachesOnlyValidSectionQuestions() {
+		LlmClient client = mock(LlmClient.class);
+		when(client.complete(any())).thenReturn(
+				new LlmResponse("질문을 만들 수 없습니다", "fake", 10, 10),
+				new LlmResponse("{\"세부계획\": [\"언제 하나요?\"], \"월별추진계획\": [\"몇 월인가요?\"], "
+						+ "\"기대효과\": [\"무엇이 좋아지나요?\"]}", "fake", 10, 10));
+
+		LlmResponseCache cache = new LlmResponseCache(10, 60, "allSectionQuestions", "", 200, 10000);
+		GptService service = new GptService(client, "gpt-3.5-turbo", cache, resilience,
+				new LlmMetrics(ObservationRegistry.NOOP, new SimpleMeterRegistry(), 0, 0));
+
+		assertThatThrownBy(() -> service.generateAllSectionQuestions("마을축제", "행복마을", "3~11월"))
+				.hasMessageContaining("질문 생성 실패");
+		assertThat(cache.getStats().get("entries")).isEqualTo(0);
+
+		assertThat(service.generateAllSectionQuestions("마을축제", "행복마을", "3~11월").get("기대효과"))
+				.containsExactly("무엇이 좋아지나요?");
+		service.generateAllSectionQuestions("마을축제", "행복마을", "3~11월");
+
+		verify(client, times(2)).complete(any());
+	}
+}
@@ -0,0 +1,82 @@
+package com.example.businessplan.service;
+
+import com.example.businessplan.entity.Answer;
+import com.example.businessplan.entity.Question;
+import com.example.businessplan.repository.AnswerRepository;
+import com.example.businessplan.repository.QuestionRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 시퀀스 변경은 트랜잭션과 무관하므로 테스트 트랜잭션 없이 돌리고 직접 정리한다
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({RenderCache.class, RenderCacheInvalidator.class})
+class IdSequenceAlignerTests {
+
+	@Autowired
+	private QuestionRepository questionRepository;
+
+	@Autowired
+	private AnswerRepository answerRepository;
+
+	@Autowired
+	private DataSource dataSource;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@AfterEach
+	void cleanUp() {
+		JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+		jdbc.update("delete from answers");
+		jdbc.update("delete from questions");
+	}
+
+	@Test
+	void movesSequencesAboveIdentityRows() {
+		JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+		// IDENTITY 시절에 쌓인 행: ID 1~120
+		for (long id = 1; id <= 120; id++) {
+			jdbc.update("insert into questions (id, section, question_text, order_num) values (?, ?, ?, ?)",
+					id, "세부계획", "질문 " + id, 1);
+		}
+		jdbc.update("insert into answers (id, question_id, user_answer) values (?, ?, ?)", 75L, 1L, "답변");
+
+		IdSequenceAligner aligner = new IdSequenceAligner(jdbc, entityManagerFactory);
+		aligner.align();
+		// 두 번 돌려도 다시 옮기지 않는다 (이미 앞서 있음)
+		aligner.align();
+
+		List<Question> questions = new ArrayList<>();
+		for (int i = 0; i < 60; i++) {
+			Question question = new Question();
+			question.setSection("기대효과");
+			question.setQuestionText("새 질문 " + i);
+			question.setOrderNum(i);
+			questions.add(question);
+		}
+		questionRepository.saveAll(questions);
+
+		Answer answer = new Answer();
+		answer.setQuestion(questions.get(0));
+		answer.setUserAnswer("새 답변");
+		answerRepository.save(answer);
+
+		assertThat(questions).allSatisfy(question -> assertThat(question.getId()).isGreaterThan(120L));
+		assertThat(answer.getId()).isGreaterThan(75L);
+		assertThat(questionRepository.count()).isEqualTo(180L);
+	}
+}
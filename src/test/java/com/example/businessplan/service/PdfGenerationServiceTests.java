@@ -0,0 +1,92 @@
+package com.example.businessplan.service;
+
+import com.example.businessplan.entity.Project;
+import com.itextpdf.kernel.pdf.PdfDictionary;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfName;
+import com.itextpdf.kernel.pdf.PdfObject;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.canvas.parser.PdfTextExtractor;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class PdfGenerationServiceTests {
+
+	@Test
+	void rendersKoreanPlan() throws Exception {
+		byte[] pdf = render(new PdfGenerationService(ObservationRegistry.NOOP, new DefaultResourceLoader(), ""));
+
+		try (PdfDocument document = new PdfDocument(new PdfReader(new ByteArrayInputStream(pdf)))) {
+			String text = PdfTextExtractor.getTextFromPage(document.getFirstPage());
+
+			assertThat(text).contains("사업 실행계획서", "행복마을", "100,000", "주민 모임 운영", "2. 세부계획");
+			assertThat(text).doesNotContain("4. 기대효과");
+		}
+	}
+
+	// 기본 글꼴은 PDF 안에 subset으로 들어가야 받는 쪽 글꼴과 무관하게 한글이 보인다
+	@Test
+	void embedsBundledFontSubset() throws Exception {
+		assumeTrue(new DefaultResourceLoader().getResource(PdfGenerationService.BUNDLED_FONT).exists(),
+				"src/main/resources/fonts/NotoSansKR-Regular.otf 없음");
+		PdfGenerationService service = new PdfGenerationService(ObservationRegistry.NOOP, new DefaultResourceLoader(), "");
+		assertThat(service.isFontEmbedded()).isTrue();
+
+		List<PdfDictionary> descriptors = fontDescriptors(render(service));
+
+		assertThat(descriptors).isNotEmpty().allSatisfy(descriptor -> {
+			assertThat(descriptor.containsKey(PdfName.FontFile2) || descriptor.containsKey(PdfName.FontFile3)).isTrue();
+			// subset 글꼴 이름은 "ABCDEF+" 접두어가 붙는다
+			assertThat(descriptor.getAsName(PdfName.FontName).getValue()).matches("[A-Z]{6}\\+.+");
+		});
+	}
+
+	// cid: 로 명시했을 때만 글꼴을 넣지 않는다
+	@Test
+	void cidFontIsExplicitOptOut() throws Exception {
+		PdfGenerationService service = new PdfGenerationService(ObservationRegistry.NOOP, new DefaultResourceLoader(),
+				"cid:HYSMyeongJo-Medium");
+		assertThat(service.isFontEmbedded()).isFalse();
+
+		assertThat(fontDescriptors(render(service))).allSatisfy(descriptor ->
+				assertThat(descriptor.containsKey(PdfName.FontFile2) || descriptor.containsKey(PdfName.FontFile3)).isFalse());
+	}
+
+	private static byte[] render(PdfGenerationService service) throws Exception {
+		Project project = new Project();
+		project.setCommunityName("행복마을");
+		project.setProjectName("마을축제");
+		project.setTotalBudget(1000L);
+		project.setProvincialFund(300L);
+		project.setCityFund(700L);
+		project.setSelfFund(0L);
+		project.setBudgetDetails("{\"items\":[{\"subProject\":\"축제\",\"calculation\":\"10000원 × 10회\",\"amount\":100000}]}");
+		project.setDetailedPlan("주민 모임 운영\n\n축제 개최 🎉");
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		service.writePdf(project, out);
+		return out.toByteArray();
+	}
+
+	private static List<PdfDictionary> fontDescriptors(byte[] pdf) throws Exception {
+		List<PdfDictionary> descriptors = new ArrayList<>();
+		try (PdfDocument document = new PdfDocument(new PdfReader(new ByteArrayInputStream(pdf)))) {
+			for (int i = 1; i < document.getNumberOfPdfObjects(); i++) {
+				PdfObject object = document.getPdfObject(i);
+				if (object instanceof PdfDictionary dictionary && PdfName.FontDescriptor.equals(dictionary.getAsName(PdfName.Type))) {
+					descriptors.add(dictionary);
+				}
+			}
+		}
+		return descriptors;
+	}
+}
@@ -0,0 +1,94 @@
+package com.example.businessplan.service;
+
+import com.example.businessplan.entity.Project;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.reactivex.Flowable;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.StringHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+class PlanStreamingServiceTests {
+
+	private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+	@Test
+	void tokensWithBlankLinesSurviveSse() throws Exception {
+		Project project = new Project();
+		project.setId(1L);
+
+		ProjectService projectService = mock(ProjectService.class);
+		GptService gptService = mock(GptService.class);
+		when(projectService.startPlanGeneration(1L)).thenReturn(new ProjectService.PlanSnapshot(project, List.of()));
+		when(projectService.completePlanGeneration(any(), any())).thenReturn(project);
+		when(gptService.parsePageContent(anyString())).thenReturn(Map.of());
+		when(gptService.streamPage2Content(any(), any()))
+				.thenReturn(Flowable.fromArray("[세부계획]\n첫 줄", "\n\n", "둘째 줄\n\n[기대", "효과]\n끝"));
+
+		PlanStreamingService service = new PlanStreamingService(projectService, mock(ProjectStatusService.class), gptService);
+		// 스프링 부트와 같이 문자열은 UTF-8로
+		MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new StreamController(service))
+				.setMessageConverters(new StringHttpMessageConverter(StandardCharsets.UTF_8),
+						new MappingJackson2HttpMessageConverter())
+				.build();
+
+		MvcResult started = mockMvc.perform(get("/stream")).andExpect(request().asyncStarted()).andReturn();
+		String body = mockMvc.perform(asyncDispatch(started)).andReturn()
+				.getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+		StringBuilder text = new StringBuilder();
+		StringBuilder sections = new StringBuilder();
+		// 빈 줄이 이벤트 경계. 토큰 안의 줄바꿈이 새면 여기서 이벤트가 깨진다
+		for (String event : body.split("\n\n")) {
+			String name = null;
+			String data = null;
+			for (String line : event.split("\n")) {
+				if (line.startsWith("event:")) name = line.substring(6);
+				if (line.startsWith("data:")) data = line.substring(5);
+			}
+			if ("token".equals(name)) {
+				JsonNode token = OBJECT_MAPPER.readTree(data);
+				text.append(token.get("t").asText());
+			} else if ("section".equals(name)) {
+				sections.append(data).append(',');
+			}
+		}
+
+		assertThat(text.toString()).isEqualTo("[세부계획]\n첫 줄\n\n둘째 줄\n\n[기대효과]\n끝");
+		assertThat(sections.toString()).isEqualTo("세부계획,기대효과,");
+		assertThat(body).contains("event:done");
+	}
+
+	@RestController
+	static class StreamController {
+		private final PlanStreamingService service;
+
+		StreamController(PlanStreamingService service) {
+			this.service = service;
+		}
+
+		@GetMapping("/stream")
+		SseEmitter stream() {
+			return service.streamFinalPlan(1L);
+		}
+	}
+}
@@ -0,0 +1,92 @@
+package com.example.businessplan.service;
+
+import com.example.businessplan.entity.Project;
+import com.example.businessplan.repository.ProjectRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// DDL은 트랜잭션 밖에서 커밋되므로 테스트 트랜잭션 없이 돌리고 직접 정리한다
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({RenderCache.class, RenderCacheInvalidator.class})
+class ProjectContentBackfillTests {
+
+	@Autowired
+	private ProjectRepository projectRepository;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Autowired
+	private DataSource dataSource;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@AfterEach
+	void cleanUp() {
+		JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+		jdbc.execute("alter table projects drop column if exists detailed_plan");
+		jdbc.execute("alter table projects drop column if exists budget_details");
+		jdbc.update("delete from projects");
+		jdbc.update("delete from project_contents");
+	}
+
+	@Test
+	void copiesLegacyColumnsIntoContent() {
+		JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+		// 분리 전 스키마: 본문이 projects에 그대로 있고 content_id는 비어 있다
+		jdbc.execute("alter table projects add column detailed_plan text");
+		jdbc.execute("alter table projects add column budget_details text");
+		jdbc.update("insert into projects (project_name, status, version, detailed_plan, budget_details) values (?, ?, 0, ?, ?)",
+				"예전 사업", "완료", "예전 본문", "{\"items\":[]}");
+		jdbc.update("insert into projects (project_name, status, version) values (?, ?, 0)", "빈 사업", "작성중");
+
+		ProjectContentBackfill backfill = new ProjectContentBackfill(jdbc, entityManager,
+				new TransactionTemplate(transactionManager));
+		assertThat(backfill.backfill()).isEqualTo(1);
+		// 다시 돌려도 옮길 것이 없다
+		assertThat(backfill.backfill()).isZero();
+
+		Project legacy = projectRepository.findSummaries(null, null, Pageable.unpaged()).stream().filter(s -> s.projectName().equals("예전 사업"))
+				.findFirst()
+				.flatMap(s -> projectRepository.findWithContentById(s.id()))
+				.orElseThrow();
+		assertThat(legacy.getDetailedPlan()).isEqualTo("예전 본문");
+		assertThat(legacy.getBudgetDetails()).isEqualTo("{\"items\":[]}");
+		assertThat(legacy.getMonthlyPlan()).isNull();
+	}
+
+	// 본문을 읽지 않은 엔티티는 본문 없이 직렬화된다 (지연 로딩을 건드리지 않음)
+	@Test
+	void serializesContentOnlyWhenLoaded() {
+		Project project = new Project();
+		project.setProjectName("마을축제");
+		project.setDetailedPlan("긴 본문");
+		Long id = projectRepository.save(project).getId();
+
+		ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+		JsonNode light = objectMapper.valueToTree(projectRepository.findById(id).orElseThrow());
+		assertThat(light.get("projectName").asText()).isEqualTo("마을축제");
+		assertThat(light.has("detailedPlan")).isFalse();
+
+		JsonNode full = objectMapper.valueToTree(projectRepository.findWithContentById(id).orElseThrow());
+		assertThat(full.get("detailedPlan").asText()).isEqualTo("긴 본문");
+	}
+}
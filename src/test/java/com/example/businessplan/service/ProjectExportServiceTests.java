@@ -0,0 +1,88 @@
+package com.example.businessplan.service;
+
+import com.example.businessplan.entity.Project;
+import com.example.businessplan.repository.ProjectRepository;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ProjectExportServiceTests {
+
+	private final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+	@AfterEach
+	void shutdown() {
+		executor.shutdownNow();
+	}
+
+	@Test
+	void writesEveryProjectAndReportsFailures() throws Exception {
+		ProjectRepository repository = mock(ProjectRepository.class);
+		for (long id = 1; id <= 5; id++) {
+			when(repository.findWithContentById(id)).thenReturn(Optional.of(project(id)));
+		}
+		when(repository.findWithContentById(6L)).thenReturn(Optional.empty());
+
+		ProjectExportService service = new ProjectExportService(repository,
+				new DocumentGenerationService(ObservationRegistry.NOOP, new DefaultResourceLoader(), "template",
+						"classpath:templates/business-plan.docx"),
+				new ExcelGenerationService(ObservationRegistry.NOOP, "streaming"),
+				new PdfGenerationService(ObservationRegistry.NOOP, new DefaultResourceLoader(), ""),
+				new RenderCache(0, 0),
+				executor, ObservationRegistry.NOOP, 2);
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		service.writeZip(List.of(1L, 2L, 3L, 4L, 5L, 6L), Set.of("docx", "xlsx"), out);
+
+		List<String> names = new ArrayList<>();
+		String errors = null;
+		try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(out.toByteArray()), StandardCharsets.UTF_8)) {
+			for (ZipEntry entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+				names.add(entry.getName());
+				byte[] content = zip.readAllBytes();
+				if (entry.getName().equals("errors.txt")) {
+					errors = new String(content, StandardCharsets.UTF_8);
+				} else {
+					assertThat(content).isNotEmpty();
+				}
+			}
+		}
+
+		// 끝나는 순서대로 쓰므로 순서는 보장하지 않는다
+		assertThat(names).hasSize(11)
+				.contains("1_마을_축제_사업계획서.docx", "5_마을_축제_사업비산출내역.xlsx")
+				.endsWith("errors.txt");
+		assertThat(errors).contains("프로젝트 6");
+	}
+
+	private Project project(long id) {
+		Project project = new Project();
+		project.setId(id);
+		project.setCommunityName("행복마을");
+		project.setProjectName("마을/축제");
+		project.setTotalBudget(1000L);
+		project.setProvincialFund(300L);
+		project.setCityFund(700L);
+		project.setSelfFund(0L);
+		project.setBudgetDetails("{\"items\":[{\"subProject\":\"축제\",\"amount\":100000}]}");
+		project.setDetailedPlan("첫째 줄\n둘째 줄");
+		return project;
+	}
+}
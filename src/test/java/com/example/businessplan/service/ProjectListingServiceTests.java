@@ -0,0 +1,92 @@
+package com.example.businessplan.service;
+
+import com.example.businessplan.entity.Project;
+import com.example.businessplan.repository.ProjectRepository;
+import com.example.businessplan.repository.ProjectSummary;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@Import({ProjectListingService.class, RenderCache.class, RenderCacheInvalidator.class})
+class ProjectListingServiceTests {
+
+	@Autowired
+	private ProjectRepository projectRepository;
+
+	@Autowired
+	private ProjectListingService projectListingService;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@BeforeEach
+	void setUp() {
+		for (int i = 1; i <= 25; i++) {
+			Project project = new Project();
+			project.setCommunityName(i % 2 == 0 ? "행복마을" : "푸른마을");
+			project.setProjectName("사업" + i);
+			project.setStatus(i % 5 == 0 ? "완료" : "임시저장");
+			project.setDetailedPlan("긴 본문 ".repeat(1000));
+			projectRepository.save(project);
+		}
+		entityManager.flush();
+		// 생성 시각이 같은 행이 있어도 id로 순서가 정해지는지 보기 위해 일부를 같은 시각으로 맞춘다
+		entityManager.createQuery("update Project p set p.createdAt = :time where p.id <= (select min(q.id) + 9 from Project q)")
+				.setParameter("time", LocalDateTime.of(2025, 1, 1, 9, 0))
+				.executeUpdate();
+		entityManager.clear();
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void cursorPagesMatchOffsetPages() {
+		List<Long> offset = new ArrayList<>();
+		for (int page = 0; page < 3; page++) {
+			Map<String, Object> result = projectListingService.findPage(null, null, page, 10, null);
+			assertThat(result.get("totalElements")).isEqualTo(25L);
+			((List<ProjectSummary>) result.get("items")).forEach(summary -> offset.add(summary.id()));
+		}
+
+		List<Long> keyset = new ArrayList<>();
+		String cursor = "";
+		do {
+			Map<String, Object> result = projectListingService.findAfterCursor(null, null, cursor, 10);
+			((List<ProjectSummary>) result.get("items")).forEach(summary -> keyset.add(summary.id()));
+			cursor = (String) result.get("nextCursor");
+		} while (cursor != null);
+
+		assertThat(keyset).hasSize(25).doesNotHaveDuplicates().isEqualTo(offset);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void filtersAndSorts() {
+		Map<String, Object> done = projectListingService.findAfterCursor("완료", "행복", null, 10);
+		assertThat((List<ProjectSummary>) done.get("items"))
+				.extracting(ProjectSummary::projectName)
+				.containsExactlyInAnyOrder("사업10", "사업20");
+
+		Map<String, Object> byName = projectListingService.findPage(null, "푸른", 0, 3, "projectName,asc");
+		assertThat((List<ProjectSummary>) byName.get("items"))
+				.extracting(ProjectSummary::projectName)
+				.containsExactly("사업1", "사업11", "사업13");
+		assertThat(byName.get("totalElements")).isEqualTo(13L);
+
+		assertThatThrownBy(() -> projectListingService.findPage(null, null, 0, 10, "detailedPlan,asc"))
+				.hasMessageContaining("정렬할 수 없는");
+		assertThatThrownBy(() -> projectListingService.findAfterCursor(null, null, "not-a-cursor", 10))
+				.hasMessageContaining("커서");
+	}
+}
@@ -0,0 +1,73 @@
+package com.example.businessplan.service;
+
+import com.example.businessplan.entity.Project;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RenderCacheTests {
+
+	@Test
+	void rendersOncePerVersion() throws Exception {
+		RenderCache cache = new RenderCache(1024, 256);
+		Project project = project(1L, 3L);
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		cache.render(project, "docx", out, o -> o.write(new byte[]{1, 2, 3}));
+
+		assertThat(out.toByteArray()).containsExactly(1, 2, 3);
+		assertThat(cache.get(project, "docx")).containsExactly(1, 2, 3);
+		assertThat(cache.get(project, "xlsx")).isNull();
+		assertThat(cache.etag(project, "docx")).isEqualTo("\"p1-v3-docx-r2\"");
+
+		project.setVersion(4L);
+		assertThat(cache.get(project, "docx")).isNull();
+		assertThat(cache.etag(project, "docx")).isNotEqualTo("\"p1-v3-docx-r2\"");
+	}
+
+	@Test
+	void staysWithinLimits() throws Exception {
+		RenderCache cache = new RenderCache(300, 200);
+
+		for (long id = 1; id <= 3; id++) {
+			cache.render(project(id, 0L), "docx", new ByteArrayOutputStream(), o -> o.write(new byte[100]));
+		}
+		// 너무 큰 결과는 그대로 내보내기만 하고 담지 않는다
+		cache.render(project(4L, 0L), "docx", new ByteArrayOutputStream(), o -> o.write(new byte[250]));
+
+		assertThat(cache.byteCount()).isEqualTo(300);
+		assertThat(cache.get(project(4L, 0L), "docx")).isNull();
+
+		cache.render(project(5L, 0L), "docx", new ByteArrayOutputStream(), o -> o.write(new byte[100]));
+		assertThat(cache.get(project(1L, 0L), "docx")).isNull();
+
+		cache.invalidate(5L);
+		assertThat(cache.byteCount()).isEqualTo(200);
+	}
+
+	@Test
+	void failedRenderIsNotCached() {
+		RenderCache cache = new RenderCache(1024, 256);
+		Project project = project(1L, 0L);
+
+		try {
+			cache.render(project, "docx", new ByteArrayOutputStream(), o -> {
+				o.write(1);
+				throw new IOException("실패");
+			});
+		} catch (IOException ignored) {
+		}
+
+		assertThat(cache.get(project, "docx")).isNull();
+	}
+
+	private Project project(Long id, Long version) {
+		Project project = new Project();
+		project.setId(id);
+		project.setVersion(version);
+		return project;
+	}
+}